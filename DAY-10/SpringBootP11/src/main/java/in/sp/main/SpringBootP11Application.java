@@ -2,6 +2,7 @@ package in.sp.main;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import in.sp.main.entities.Student;
 import in.sp.main.services.StudentService;
@@ -9,6 +10,7 @@ import in.sp.main.services.StudentServiceImpl;
 
 
 @SpringBootApplication
+@EnableScheduling          // StudentPurger
 public class SpringBootP11Application 
 {
 	public static void main(String[] args) 
@@ -0,0 +1,28 @@
+package in.sp.main.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+// Rows inserted while Student used IDENTITY already own ids the new student_seq would hand out again.
+// Before anything can insert, push the sequence past the highest existing id. With the pooled optimizer
+// a fetched value v stands for ids v-49..v, so next_val must be at least max(id) + allocationSize.
+@Component
+@DependsOn("entityManagerFactory")        // schema update has created student_seq by then
+public class StudentSequenceGuard 
+{
+	private static final int ALLOCATION_SIZE = 50;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@PostConstruct
+	public void alignSequence()
+	{
+		jdbcTemplate.update("UPDATE student_seq SET next_val = GREATEST(next_val, "
+				+ "(SELECT COALESCE(MAX(id), 0) + ? FROM student))", ALLOCATION_SIZE);
+	}
+}
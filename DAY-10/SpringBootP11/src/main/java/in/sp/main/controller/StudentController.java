@@ -1,11 +1,43 @@
 package in.sp.main.controller;
 
+import in.sp.main.dto.DeleteResult;
+import in.sp.main.dto.ImportResult;
+import in.sp.main.dto.MarksPercentile;
+import in.sp.main.dto.MarksUpdate;
+import in.sp.main.dto.MarksUpdateResult;
+import in.sp.main.dto.StudentFilter;
+import in.sp.main.dto.StudentPage;
+import in.sp.main.dto.StudentRank;
 import in.sp.main.entities.Student;
+import in.sp.main.services.MarksRange;
+import in.sp.main.services.StudentCsv;
+import in.sp.main.services.StudentImportReader;
+import in.sp.main.services.StudentLeaderboard;
 import in.sp.main.services.StudentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/students")  // Base URL for endpoints
@@ -14,10 +46,60 @@ public class StudentController
     @Autowired
     private StudentService studentService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StudentLeaderboard leaderboard;
+
+    @Autowired
+    private MarksRange marksRange;
+
+    @Value("${student.delete.max-ids:10000}")
+    private int maxDeleteIds;
+
+    // Paged listing, e.g. /students?sort=marks&direction=desc&minMarks=60&name=Ra&size=50
+    // Follow nextCursor for keyset paging (fast at any depth), or pass page=N for numbered pages
     @GetMapping
-    public List<Student> getAllStudents() 
+    public StudentPage getStudents(@RequestParam(required = false) String cursor,
+                                   @RequestParam(required = false) Integer page,
+                                   @RequestParam(defaultValue = "50") int size,
+                                   @RequestParam(defaultValue = "id") String sort,
+                                   @RequestParam(defaultValue = "asc") String direction,
+                                   @RequestParam(required = false) Float minMarks,
+                                   @RequestParam(required = false) Float maxMarks,
+                                   @RequestParam(defaultValue = "") String name) 
     {
-        return studentService.getAllStdDetails();
+        StudentFilter filter = new StudentFilter(minMarks != null ? minMarks : -Float.MAX_VALUE,
+                maxMarks != null ? maxMarks : Float.MAX_VALUE, name);
+        return studentService.findStudents(filter, sort, direction.equalsIgnoreCase("desc"), cursor,
+                page != null ? Math.max(0, page) : null, Math.max(1, Math.min(size, 1000)));
+    }
+
+    // Class rank and percentile of one student, from the in-memory leaderboard
+    @GetMapping("/{id}/rank")
+    public ResponseEntity<StudentRank> getRank(@PathVariable long id)
+    {
+        StudentRank rank = leaderboard.rank(id);
+        return rank != null ? ResponseEntity.ok(rank) : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/top")
+    public List<StudentRank> getTopStudents(@RequestParam(defaultValue = "10") int n)
+    {
+        return leaderboard.top(Math.max(1, Math.min(n, 1000)));
+    }
+
+    // e.g. /students/percentile?p=90 gives the marks that 90% of the class is at or below
+    @GetMapping("/percentile")
+    public ResponseEntity<MarksPercentile> getPercentile(@RequestParam double p)
+    {
+        if (!(p > 0 && p <= 100))
+        {
+            return ResponseEntity.badRequest().build();
+        }
+        MarksPercentile percentile = leaderboard.percentile(p);
+        return percentile != null ? ResponseEntity.ok(percentile) : ResponseEntity.notFound().build();
     }
 
     @GetMapping("/{id}")
@@ -32,12 +114,85 @@ public class StudentController
         return studentService.addStudentDetails(student);
     }
 
+    // Bulk import from CSV (header with name,rollno,marks) or NDJSON, read line by line while saving
+    @PostMapping(value = "/import", consumes = { "text/csv", MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<ImportResult> importStudents(@RequestHeader("Content-Type") String contentType, InputStream body)
+    {
+        StudentImportReader.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? StudentImportReader.Format.NDJSON : StudentImportReader.Format.CSV;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        ImportResult result = studentService.importStudents(
+                new StudentImportReader(reader, format, objectMapper.readerFor(Student.class), marksRange));
+        // a body that broke off is a 400, with what was imported before the break in the result
+        return new ResponseEntity<>(result, result.error() == null ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST);
+    }
+
+    // Whole table as CSV (default) or NDJSON, written while the database cursor is read
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportStudents(@RequestParam(defaultValue = "csv") String format)
+    {
+        boolean ndjson = format.equalsIgnoreCase("ndjson");
+        if (!ndjson && !format.equalsIgnoreCase("csv"))
+        {
+            return ResponseEntity.badRequest().build();
+        }
+        ObjectWriter jsonWriter = objectMapper.writerFor(Student.class);
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            if (!ndjson)
+            {
+                writer.write(StudentCsv.HEADER);
+                writer.write('\n');
+            }
+            studentService.exportStudents(std -> {
+                try
+                {
+                    writer.write(ndjson ? jsonWriter.writeValueAsString(std) : StudentCsv.formatLine(std));
+                    writer.write('\n');
+                }
+                catch (IOException e)
+                {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(body);
+    }
+
+    // Grading-day bulk update: a JSON array of {"id": .., "marks": ..}, read incrementally and applied in batches.
+    // Entries without a valid id and marks are skipped and listed; a malformed one ends the update with a 400
+    // that still reports what was applied before it.
+    @PutMapping(value = "/marks", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<MarksUpdateResult> updateMarks(InputStream body) throws IOException
+    {
+        try (MappingIterator<MarksUpdate> updates = objectMapper.readerFor(MarksUpdate.class).readValues(body))
+        {
+            MarksUpdateResult result = studentService.updateMarks(updates);
+            return result.error() == null ? ResponseEntity.ok(result) : ResponseEntity.badRequest().body(result);
+        }
+    }
+
     @PutMapping("/{id}")
     public boolean updateStudent(@PathVariable long id,@RequestBody Student student) 
     {
         return studentService.updateStdDetails(id, student.getMarks());
     }
 
+    // Bulk soft delete, body is a JSON array of ids
+    @DeleteMapping
+    public ResponseEntity<DeleteResult> deleteStudents(@RequestBody List<Long> ids)
+    {
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        if (distinct.size() > maxDeleteIds)
+        {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(new DeleteResult(distinct.size(), studentService.deleteStudents(distinct)));
+    }
+
     @DeleteMapping("/{id}")
     public boolean deleteStudent(@PathVariable long id) 
     {
@@ -0,0 +1,6 @@
+package in.sp.main.dto;
+
+// Response of DELETE /students: distinct ids asked for and how many of them were live students
+public record DeleteResult(int requested, int deleted) 
+{
+}
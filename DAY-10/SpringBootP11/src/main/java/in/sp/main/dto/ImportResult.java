@@ -0,0 +1,10 @@
+package in.sp.main.dto;
+
+import java.util.List;
+
+// Response of POST /students/import. errors holds at most the configured number of failures,
+// failed is the full count. error is set when the body itself broke off (bad header, lost connection):
+// everything received before it was still imported.
+public record ImportResult(long received, long imported, long failed, long millis, List<RowError> errors, String error) 
+{
+}
@@ -0,0 +1,6 @@
+package in.sp.main.dto;
+
+// Response of GET /students/percentile: p percent of the students have marks at or below this value
+public record MarksPercentile(double p, float marks, long students) 
+{
+}
@@ -0,0 +1,6 @@
+package in.sp.main.dto;
+
+// One entry of the PUT /students/marks body. Boxed so a missing id or marks is rejected instead of read as 0.
+public record MarksUpdate(Long id, Float marks) 
+{
+}
@@ -0,0 +1,11 @@
+package in.sp.main.dto;
+
+import java.util.List;
+
+// Response of PUT /students/marks. notFound lists ids that matched no student and errors the entries rejected
+// without a valid id and marks (line = position of the entry in the array), both up to the configured limit.
+// error is set when the body broke off at an entry that couldn't be read, everything before it was applied.
+public record MarksUpdateResult(long received, long updated, List<Long> notFound, long rejected, List<RowError> errors,
+		String error, long millis) 
+{
+}
@@ -0,0 +1,6 @@
+package in.sp.main.dto;
+
+// A rejected import line, line numbers are 1-based and count the header. For a marks update it is the entry number.
+public record RowError(long line, String message) 
+{
+}
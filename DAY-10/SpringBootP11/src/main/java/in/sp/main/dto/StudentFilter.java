@@ -0,0 +1,6 @@
+package in.sp.main.dto;
+
+// Filters of GET /students, every bound is inclusive and an empty prefix matches every student, also those without a name
+public record StudentFilter(float minMarks, float maxMarks, String namePrefix) 
+{
+}
@@ -0,0 +1,15 @@
+package in.sp.main.dto;
+
+import in.sp.main.entities.Student;
+
+// One parsed line of an import body: either a student to save or the reason the line was rejected
+public record StudentImportRow(long line, Student student, String error) 
+{
+	public static StudentImportRow valid(long line, Student student) {
+		return new StudentImportRow(line, student, null);
+	}
+
+	public static StudentImportRow invalid(long line, String error) {
+		return new StudentImportRow(line, null, error);
+	}
+}
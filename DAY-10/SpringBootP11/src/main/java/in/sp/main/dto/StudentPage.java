@@ -0,0 +1,11 @@
+package in.sp.main.dto;
+
+import java.util.List;
+
+import in.sp.main.entities.Student;
+
+// One page of GET /students. With keyset paging pass nextCursor back for the following page,
+// with page numbers it is null and hasNext says whether page + 1 exists.
+public record StudentPage(List<Student> content, String nextCursor, boolean hasNext) 
+{
+}
@@ -0,0 +1,7 @@
+package in.sp.main.dto;
+
+// Standing of one student: rank 1 is the best mark (ties share a rank), percentile is the
+// share of students with the same or lower marks
+public record StudentRank(long id, float marks, long rank, long students, double percentile) 
+{
+}
@@ -1,18 +1,36 @@
 package in.sp.main.entities;
 
+import java.time.Instant;
+
+import org.hibernate.annotations.SQLRestriction;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
-@Table
+// soft delete: deleted rows stay in the table until StudentPurger removes them, every JPA read skips them
+@SQLRestriction("deleted = false")
+// keyset pagination of GET /students walks (marks, id) or (rollno, id), the name index serves prefix filters
+@Table(indexes = {
+		@Index(name = "ix_student_marks_id", columnList = "marks, id"),
+		@Index(name = "ix_student_rollno_id", columnList = "rollno, id"),
+		@Index(name = "ix_student_name", columnList = "name"),
+		@Index(name = "ix_student_deleted_at", columnList = "deleted, deleted_at")
+})
 public class Student 
 {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	// pooled sequence instead of IDENTITY: Hibernate can hand out 50 ids per round trip and keep
+	// inserts in JDBC batches (IDENTITY needs the row inserted before the id is known, so no batching).
+	// On MySQL this is the student_seq table, StudentSequenceGuard lines it up with existing ids.
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_seq")
+	@SequenceGenerator(name = "student_seq", sequenceName = "student_seq", allocationSize = 50)
 	@Column
 	private long id;
 	@Column
@@ -21,6 +39,11 @@ public class Student
 	private String rollno;
 	@Column
 	private float marks;
+	// set only by the bulk soft-delete UPDATE, no getters so they never show up in the JSON
+	@Column
+	private boolean deleted;
+	@Column
+	private Instant deletedAt;
 	
 	
 	public Student() {}  //  JPA needed default constructor to make object so that it can store data from the data base to do operation 
@@ -1,12 +1,56 @@
 package in.sp.main.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import in.sp.main.entities.Student;
+import jakarta.persistence.QueryHint;
 
-public interface StudentRepository extends JpaRepository<Student, Long>
+public interface StudentRepository extends JpaRepository<Student, Long>, JpaSpecificationExecutor<Student>
 {
+	// Whole table as a cursor for GET /students/export: MySQL sends 1000 rows at a time
+	// (useCursorFetch=true) and Hibernate skips dirty-checking snapshots for the read-only rows
+	@QueryHints({
+		@QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+		@QueryHint(name = "org.hibernate.readOnly", value = "true")
+	})
+	@Query("SELECT s FROM Student s ORDER BY s.id")
+	Stream<Student> streamAll();
+	
+	// One UPDATE for a marks change, no SELECT first. Returns the number of rows matched (0 or 1).
+	@Modifying
+	@Query("UPDATE Student s SET s.marks = :marks WHERE s.id = :id AND s.deleted = false")
+	int updateMarks(@Param("id") long id, @Param("marks") float marks);
+	
+	// GET /students?page= : offset paging, a Slice fetches size + 1 rows instead of running a COUNT(*).
+	// Without a name prefix there is no name predicate at all, LIKE '%' would drop students without a name.
+	Slice<Student> findByMarksBetweenAndNameStartingWith(float minMarks, float maxMarks, String namePrefix, Pageable pageable);
+	
+	Slice<Student> findByMarksBetween(float minMarks, float maxMarks, Pageable pageable);
+	
+	// GET /students?cursor= goes through JpaSpecificationExecutor.findBy(spec, q -> q.scroll(..)): keyset paging,
+	// WHERE (sort key, id) > (last row) on the (marks, id) / (rollno, id) index, so every page costs the same
+	// however deep it is. See StudentServiceImpl for how NULL rollnos are paged.
+	
+	// Soft delete of many students in one UPDATE, no entity is loaded. Returns how many were still live.
+	@Modifying
+	@Query("UPDATE Student s SET s.deleted = true, s.deletedAt = :now WHERE s.id IN :ids AND s.deleted = false")
+	int softDelete(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
 	
+	// Hard delete of at most batchSize rows soft-deleted before cutoff, small enough to keep row locks short
+	@Modifying
+	@Query(value = "DELETE FROM student WHERE deleted = true AND deleted_at < :cutoff LIMIT :batchSize", nativeQuery = true)
+	int purgeDeleted(@Param("cutoff") Instant cutoff, @Param("batchSize") int batchSize);
 }
 
 
@@ -0,0 +1,33 @@
+package in.sp.main.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// The marks a student can have, the same student.leaderboard.* range the leaderboard is sized for.
+// Every write path (POST and PUT /students/{id}, the import, PUT /students/marks) checks against it.
+@Component
+public class MarksRange
+{
+	private final float min;
+	private final float max;
+	private final String message;
+
+	public MarksRange(@Value("${student.leaderboard.min-marks:0}") float min,
+					  @Value("${student.leaderboard.max-marks:100}") float max)
+	{
+		this.min = min;
+		this.max = max;
+		this.message = "marks must be between " + format(min) + " and " + format(max);
+	}
+
+	// null if the marks are in range, otherwise the message to report
+	public String check(float marks)
+	{
+		return marks >= min && marks <= max ? null : message;      // false for NaN too
+	}
+
+	private static String format(float bound)
+	{
+		return bound == Math.rint(bound) ? Long.toString((long) bound) : Float.toString(bound);
+	}
+}
@@ -0,0 +1,68 @@
+package in.sp.main.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import in.sp.main.entities.Student;
+
+// Minimal RFC 4180 CSV for the import/export endpoints: comma separated, fields with commas or
+// quotes are quoted and quotes inside are doubled. Records never span lines.
+public final class StudentCsv 
+{
+	public static final String HEADER = "id,name,rollno,marks";
+
+	private StudentCsv() {}
+
+	public static List<String> parseLine(String line)
+	{
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					field.append('"');
+					i++;
+				}
+				else if (c == '"') {
+					quoted = false;
+				}
+				else {
+					field.append(c);
+				}
+			}
+			else if (c == '"') {
+				quoted = true;
+			}
+			else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			}
+			else {
+				field.append(c);
+			}
+		}
+		if (quoted) {
+			throw new IllegalArgumentException("unterminated quoted field");
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+
+	public static String formatLine(Student std)
+	{
+		return std.getId() + "," + quote(std.getName()) + "," + quote(std.getRollno()) + "," + std.getMarks();
+	}
+
+	private static String quote(String value)
+	{
+		if (value == null) {
+			return "";
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+}
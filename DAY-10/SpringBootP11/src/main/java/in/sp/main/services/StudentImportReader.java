@@ -0,0 +1,157 @@
+package in.sp.main.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import in.sp.main.entities.Student;
+import in.sp.main.dto.StudentImportRow;
+
+// Reads an import body one line at a time, so memory stays flat whatever the file size.
+// CSV needs a name,rollno,marks header (any order, extra columns ignored); NDJSON is one Student
+// object per line. A line that can't be parsed or validated becomes an invalid row, it never stops the import.
+// A missing CSV header throws IllegalArgumentException and a read failure UncheckedIOException, from hasNext().
+public class StudentImportReader implements Iterator<StudentImportRow> 
+{
+	public enum Format { CSV, NDJSON }
+
+	private final BufferedReader reader;
+	private final Format format;
+	private final ObjectReader jsonReader;
+	private final MarksRange marksRange;
+
+	private long lineNumber;
+	private int nameColumn = -1;
+	private int rollnoColumn = -1;
+	private int marksColumn = -1;
+	private StudentImportRow next;
+
+	public StudentImportReader(BufferedReader reader, Format format, ObjectReader jsonReader, MarksRange marksRange)
+	{
+		this.reader = reader;
+		this.format = format;
+		this.jsonReader = jsonReader;
+		this.marksRange = marksRange;
+	}
+
+	@Override
+	public boolean hasNext()
+	{
+		if (next == null) {
+			next = read();
+		}
+		return next != null;
+	}
+
+	@Override
+	public StudentImportRow next()
+	{
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		StudentImportRow row = next;
+		next = null;
+		return row;
+	}
+
+	private StudentImportRow read()
+	{
+		try {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				if (line.isBlank()) {
+					continue;
+				}
+				if (format == Format.NDJSON) {
+					return parseJson(line);
+				}
+				if (nameColumn < 0) {
+					readHeader(line);
+					continue;
+				}
+				return parseCsv(line);
+			}
+			return null;
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void readHeader(String line)
+	{
+		List<String> columns = StudentCsv.parseLine(line.startsWith("\uFEFF") ? line.substring(1) : line);   // Excel BOM
+		for (int i = 0; i < columns.size(); i++) {
+			switch (columns.get(i).trim().toLowerCase(Locale.ROOT)) {
+				case "name" -> nameColumn = i;
+				case "rollno" -> rollnoColumn = i;
+				case "marks" -> marksColumn = i;
+				default -> { }
+			}
+		}
+		if (nameColumn < 0 || rollnoColumn < 0 || marksColumn < 0) {
+			throw new IllegalArgumentException("CSV header must contain name, rollno and marks columns");
+		}
+	}
+
+	private StudentImportRow parseCsv(String line)
+	{
+		List<String> fields;
+		try {
+			fields = StudentCsv.parseLine(line);
+		}
+		catch (IllegalArgumentException e) {
+			return StudentImportRow.invalid(lineNumber, e.getMessage());
+		}
+		int needed = Math.max(nameColumn, Math.max(rollnoColumn, marksColumn)) + 1;
+		if (fields.size() < needed) {
+			return StudentImportRow.invalid(lineNumber, "expected " + needed + " columns, found " + fields.size());
+		}
+		float marks;
+		try {
+			marks = Float.parseFloat(fields.get(marksColumn).trim());
+		}
+		catch (NumberFormatException e) {
+			return StudentImportRow.invalid(lineNumber, "marks is not a number");
+		}
+		return validate(new Student(0, fields.get(nameColumn).trim(), fields.get(rollnoColumn).trim(), marks));
+	}
+
+	private StudentImportRow parseJson(String line)
+	{
+		try {
+			Student std = jsonReader.readValue(line);
+			if (std == null) {
+				return StudentImportRow.invalid(lineNumber, "expected a JSON object, found null");
+			}
+			std.setId(0);                  // imported rows are always new
+			return validate(std);
+		}
+		catch (JsonProcessingException e) {
+			return StudentImportRow.invalid(lineNumber, "malformed JSON: " + e.getOriginalMessage());
+		}
+	}
+
+	private StudentImportRow validate(Student std)
+	{
+		if (std.getName() == null || std.getName().isBlank()) {
+			return StudentImportRow.invalid(lineNumber, "name is required");
+		}
+		if (std.getRollno() == null || std.getRollno().isBlank()) {
+			return StudentImportRow.invalid(lineNumber, "rollno is required");
+		}
+		String marksProblem = marksRange.check(std.getMarks());
+		if (marksProblem != null) {
+			return StudentImportRow.invalid(lineNumber, marksProblem);
+		}
+		return StudentImportRow.valid(lineNumber, std);
+	}
+}
@@ -0,0 +1,318 @@
+package in.sp.main.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import in.sp.main.dto.MarksPercentile;
+import in.sp.main.dto.StudentRank;
+import in.sp.main.entities.Student;
+import in.sp.main.repository.StudentRepository;
+
+// In-memory leaderboard over student marks, so rank and percentile don't need the whole table.
+// Marks are rounded into fixed-width buckets (0.01 by default) and a Fenwick tree keeps the number
+// of students per bucket: counting everyone below a mark, or finding the mark below which k students
+// fall, is O(log buckets). Loaded from the student table at startup, then kept current by StudentServiceImpl
+// once its writes commit.
+@Component
+public class StudentLeaderboard implements SmartInitializingSingleton
+{
+	private final float minMarks;
+	private final float step;
+	private final int buckets;
+	private final long[] tree;                                      // Fenwick tree, 1-based
+
+	private final Map<Long, Integer> bucketOf = new HashMap<>();
+	private final TreeMap<Integer, Set<Long>> members = new TreeMap<>();   // non-empty buckets only, for top-n
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private long total;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	public StudentLeaderboard(@Value("${student.leaderboard.min-marks:0}") float minMarks,
+							  @Value("${student.leaderboard.max-marks:100}") float maxMarks,
+							  @Value("${student.leaderboard.step:0.01}") float step)
+	{
+		if (!(step > 0) || !(maxMarks > minMarks))
+		{
+			throw new IllegalArgumentException("student.leaderboard needs max-marks > min-marks and a positive step");
+		}
+		this.minMarks = minMarks;
+		this.step = step;
+		this.buckets = Math.round((maxMarks - minMarks) / step) + 1;
+		this.tree = new long[buckets + 1];
+	}
+
+	// Loaded once every bean exists but before the web server starts and scheduling begins, so no request
+	// sees a half-filled leaderboard and no write can race the load
+	@Override
+	public void afterSingletonsInstantiated()
+	{
+		TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		readOnly.executeWithoutResult(status -> {
+			try (Stream<Student> students = studentRepository.streamAll())
+			{
+				students.forEach(std -> put(std.getId(), std.getMarks()));
+			}
+		});
+	}
+
+	// The *AfterCommit variants apply the change once the surrounding transaction commits,
+	// so a rolled back write never shows up; outside a transaction they apply it at once
+	public void putAfterCommit(long id, float marks)
+	{
+		afterCommit(() -> put(id, marks));
+	}
+
+	public void updateAfterCommit(long id, float marks)
+	{
+		afterCommit(() -> update(id, marks));
+	}
+
+	public void removeAfterCommit(long id)
+	{
+		afterCommit(() -> remove(id));
+	}
+
+	// Adds the student or moves them to their new marks
+	public void put(long id, float marks)
+	{
+		move(id, marks, false);
+	}
+
+	// Only moves students the leaderboard already knows, for updates that may name missing ids.
+	// Checked under the same write lock as the move, so a concurrent remove can't be undone by it.
+	public void update(long id, float marks)
+	{
+		move(id, marks, true);
+	}
+
+	private void move(long id, float marks, boolean knownOnly)
+	{
+		int bucket = bucket(marks);
+		lock.writeLock().lock();
+		try
+		{
+			Integer previous = bucketOf.get(id);
+			if (previous == null && knownOnly)
+			{
+				return;
+			}
+			if (previous != null)
+			{
+				if (previous == bucket)
+				{
+					return;
+				}
+				leave(id, previous);
+			}
+			else
+			{
+				total++;
+			}
+			bucketOf.put(id, bucket);
+			add(bucket, 1);
+			members.computeIfAbsent(bucket, b -> new LinkedHashSet<>()).add(id);
+		}
+		finally
+		{
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(long id)
+	{
+		lock.writeLock().lock();
+		try
+		{
+			Integer bucket = bucketOf.remove(id);
+			if (bucket != null)
+			{
+				leave(id, bucket);
+				total--;
+			}
+		}
+		finally
+		{
+			lock.writeLock().unlock();
+		}
+	}
+
+	// null if the student isn't on the leaderboard
+	public StudentRank rank(long id)
+	{
+		lock.readLock().lock();
+		try
+		{
+			Integer bucket = bucketOf.get(id);
+			if (bucket == null)
+			{
+				return null;
+			}
+			long atOrBelow = prefix(bucket);
+			return new StudentRank(id, marksOf(bucket), total - atOrBelow + 1, total, 100.0 * atOrBelow / total);
+		}
+		finally
+		{
+			lock.readLock().unlock();
+		}
+	}
+
+	// Best n students, highest marks first
+	public List<StudentRank> top(int n)
+	{
+		List<StudentRank> top = new ArrayList<>(Math.min(n, 1024));
+		lock.readLock().lock();
+		try
+		{
+			long above = 0;
+			for (Map.Entry<Integer, Set<Long>> entry : members.descendingMap().entrySet())
+			{
+				float marks = marksOf(entry.getKey());
+				double percentile = 100.0 * (total - above) / total;
+				for (Long id : entry.getValue())
+				{
+					if (top.size() == n)
+					{
+						return top;
+					}
+					top.add(new StudentRank(id, marks, above + 1, total, percentile));
+				}
+				above += entry.getValue().size();
+			}
+			return top;
+		}
+		finally
+		{
+			lock.readLock().unlock();
+		}
+	}
+
+	// Lowest marks with at least p percent of the students at or below it, null when there are no students
+	public MarksPercentile percentile(double p)
+	{
+		lock.readLock().lock();
+		try
+		{
+			if (total == 0)
+			{
+				return null;
+			}
+			long k = Math.max(1, (long) Math.ceil(p / 100 * total));
+			return new MarksPercentile(p, marksOf(findKth(Math.min(k, total))), total);
+		}
+		finally
+		{
+			lock.readLock().unlock();
+		}
+	}
+
+	public long size()
+	{
+		lock.readLock().lock();
+		try
+		{
+			return total;
+		}
+		finally
+		{
+			lock.readLock().unlock();
+		}
+	}
+
+	private static void afterCommit(Runnable change)
+	{
+		if (!TransactionSynchronizationManager.isSynchronizationActive())
+		{
+			change.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization()
+		{
+			@Override
+			public void afterCommit()
+			{
+				change.run();
+			}
+		});
+	}
+
+	private void leave(long id, int bucket)
+	{
+		add(bucket, -1);
+		Set<Long> ids = members.get(bucket);
+		ids.remove(id);
+		if (ids.isEmpty())
+		{
+			members.remove(bucket);
+		}
+	}
+
+	// out of range marks are clamped into the first or last bucket
+	private int bucket(float marks)
+	{
+		return Math.max(0, Math.min(buckets - 1, Math.round((marks - minMarks) / step)));
+	}
+
+	private float marksOf(int bucket)
+	{
+		return (float) (minMarks + (double) bucket * step);
+	}
+
+	private void add(int bucket, long delta)
+	{
+		for (int i = bucket + 1; i <= buckets; i += i & -i)
+		{
+			tree[i] += delta;
+		}
+	}
+
+	// students in buckets 0..bucket
+	private long prefix(int bucket)
+	{
+		long sum = 0;
+		for (int i = bucket + 1; i > 0; i -= i & -i)
+		{
+			sum += tree[i];
+		}
+		return sum;
+	}
+
+	// smallest bucket whose prefix count reaches k, by descending the tree's power-of-two levels
+	private int findKth(long k)
+	{
+		int position = 0;                                  // last 1-based index known to hold fewer than k
+		for (int jump = Integer.highestOneBit(buckets); jump > 0; jump >>= 1)
+		{
+			int next = position + jump;
+			if (next <= buckets && tree[next] < k)
+			{
+				position = next;
+				k -= tree[next];
+			}
+		}
+		return position;          // the answer is 1-based index position + 1, which is bucket number position
+	}
+}
@@ -0,0 +1,70 @@
+package in.sp.main.services;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import in.sp.main.repository.StudentRepository;
+
+// Hard-deletes soft-deleted students in the off-peak window given by student.purge.cron.
+// Each batch is its own short DELETE ... LIMIT transaction, so a big cleanup never holds locks for long,
+// and the run stops once the window length is used up; whatever is left goes in the next window.
+@Component
+public class StudentPurger 
+{
+	private static final Logger log = LoggerFactory.getLogger(StudentPurger.class);
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Value("${student.purge.batch-size:1000}")
+	private int batchSize;
+
+	@Value("${student.purge.retention-days:7}")
+	private int retentionDays;
+
+	@Value("${student.purge.window-minutes:60}")
+	private int windowMinutes;
+
+	@Value("${student.purge.pause-ms:100}")
+	private long pauseMillis;
+
+	@Scheduled(cron = "${student.purge.cron:0 0 2 * * *}")
+	public void purge()
+	{
+		Instant cutoff = Instant.now().minus(Duration.ofDays(retentionDays));
+		long deadline = System.nanoTime() + Duration.ofMinutes(windowMinutes).toNanos();
+		long purged = 0;
+		int deleted;
+		do
+		{
+			deleted = transactionTemplate.execute(status -> studentRepository.purgeDeleted(cutoff, batchSize));
+			purged += deleted;
+			if (deleted == batchSize && pauseMillis > 0)
+			{
+				try
+				{
+					Thread.sleep(pauseMillis);         // let replicas and other writers catch up between batches
+				}
+				catch (InterruptedException e)
+				{
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+		}
+		while (deleted == batchSize && System.nanoTime() < deadline);
+		
+		log.info("student.purge removed={} cutoff={} finished={}", purged, cutoff, deleted < batchSize);
+	}
+}
@@ -1,7 +1,16 @@
 package in.sp.main.services;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
+import in.sp.main.dto.ImportResult;
+import in.sp.main.dto.MarksUpdate;
+import in.sp.main.dto.MarksUpdateResult;
+import in.sp.main.dto.StudentFilter;
+import in.sp.main.dto.StudentImportRow;
+import in.sp.main.dto.StudentPage;
 import in.sp.main.entities.Student;
 
 public interface StudentService 
@@ -10,11 +19,22 @@ public interface StudentService
 
 	public List<Student> getAllStdDetails();
 	
+	// keyset page after cursor, or offset page number when page is given
+	public StudentPage findStudents(StudentFilter filter, String sortBy, boolean descending, String cursor, Integer page, int size);
+	
 	public Student getStdDetails(long id);
 	
 	public boolean updateStdDetails(long id, float marks);
 	
+	public MarksUpdateResult updateMarks(Iterator<MarksUpdate> updates);     // JDBC batch UPDATE per chunk, stops at the first entry the iterator can't read
+	
 	public boolean deleteStdDetails(long id);	
+	
+	public int deleteStudents(Collection<Long> ids);                          // soft delete, one statement
+	
+	public ImportResult importStudents(Iterator<StudentImportRow> rows);     // chunked batch insert with per-row errors
+	
+	public void exportStudents(Consumer<Student> sink);                      // streams the table, one student at a time
 }
 
 
@@ -1,28 +1,100 @@
 package in.sp.main.services;
 
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+
+import in.sp.main.dto.ImportResult;
+import in.sp.main.dto.MarksUpdate;
+import in.sp.main.dto.MarksUpdateResult;
+import in.sp.main.dto.RowError;
+import in.sp.main.dto.StudentFilter;
+import in.sp.main.dto.StudentImportRow;
+import in.sp.main.dto.StudentPage;
 import in.sp.main.entities.Student;
 import in.sp.main.repository.StudentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 @Service  
 public class StudentServiceImpl implements StudentService
 {
+	private static final Set<String> SORTABLE = Set.of("id", "marks", "rollno");
+	
 	@Autowired
 	private StudentRepository studentRepository;
 	
+	@PersistenceContext
+	private EntityManager entityManager;
+	
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	
+	@Autowired
+	private StudentLeaderboard leaderboard;
+	
+	@Autowired
+	private MarksRange marksRange;
+	
+	@Value("${student.import.chunk-size:1000}")
+	private int importChunkSize;
+	
+	@Value("${student.import.max-reported-errors:1000}")
+	private int maxReportedErrors;
+	
+	@Value("${student.marks.chunk-size:1000}")
+	private int marksChunkSize;
+	
+	@Value("${student.marks.max-reported-missing:1000}")
+	private int maxReportedMissing;
+	
+	@Value("${student.marks.max-reported-rejected:1000}")
+	private int maxReportedRejected;
+	
 	@Override
 	public boolean addStudentDetails(Student std) 
 	{
+		checkMarks(std.getMarks());             // out of range is the client's mistake, a 400 rather than false
 		boolean status = false;
 		
 		try
 		{
-			studentRepository.save(std);          // Saving student to the database
+			Student saved = studentRepository.save(std);          // Saving student to the database
+			leaderboard.putAfterCommit(saved.getId(), saved.getMarks());
 			status = true;                        // If save is successful, return true
 		}
 		catch(Exception e)
@@ -39,6 +111,133 @@ public class StudentServiceImpl implements StudentService
 		return studentRepository.findAll();     // Fetches all students from the database
 	}
 	
+	@Override
+	@Transactional(readOnly = true)
+	public StudentPage findStudents(StudentFilter filter, String sortBy, boolean descending, String cursor, Integer page, int size)
+	{
+		if (!SORTABLE.contains(sortBy))
+		{
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "sort must be one of id, marks, rollno");
+		}
+		// id breaks ties, in the same direction so MySQL can walk the (key, id) index one way
+		Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+		Sort sort = sortBy.equals("id") ? Sort.by(direction, "id") : Sort.by(direction, sortBy, "id");
+		
+		if (page != null)
+		{
+			PageRequest pageRequest = PageRequest.of(page, size, sort);
+			Slice<Student> slice = filter.namePrefix().isEmpty()
+					? studentRepository.findByMarksBetween(filter.minMarks(), filter.maxMarks(), pageRequest)
+					: studentRepository.findByMarksBetweenAndNameStartingWith(filter.minMarks(), filter.maxMarks(),
+							filter.namePrefix(), pageRequest);
+			return new StudentPage(slice.getContent(), null, slice.hasNext());
+		}
+		
+		Map<String, Object> keys = (cursor == null || cursor.isEmpty()) ? null : decodeCursor(cursor, sortBy);
+		if (!sortBy.equals("rollno"))
+		{
+			Window<Student> window = scroll(matching(filter), sort, keys, size);
+			return new StudentPage(window.getContent(), nextCursor(window.getContent(), window.hasNext(), sortBy), window.hasNext());
+		}
+		
+		// A NULL rollno can't be a keyset key (rollno > NULL matches nothing), so rollno pages walk two ranges
+		// in the order MySQL sorts them, NULLs first ascending and last descending: students without a rollno
+		// by id alone, the others by (rollno, id). A cursor left inside the NULL range carries no rollno.
+		List<Boolean> ranges = descending ? List.of(false, true) : List.of(true, false);
+		boolean startInNulls = keys == null ? ranges.get(0) : !keys.containsKey("rollno");
+		List<Student> content = new ArrayList<>(size);
+		boolean hasNext = false;
+		for (int i = ranges.indexOf(startInNulls); i < ranges.size(); i++)
+		{
+			boolean nulls = ranges.get(i);
+			Specification<Student> spec = matching(filter).and(rollnoIsNull(nulls));
+			if (content.size() == size)
+			{
+				hasNext = studentRepository.exists(spec);
+				break;
+			}
+			Window<Student> window = scroll(spec, nulls ? Sort.by(direction, "id") : sort,
+					nulls == startInNulls ? keys : null, size - content.size());
+			content.addAll(window.getContent());
+			if (window.hasNext())
+			{
+				hasNext = true;
+				break;
+			}
+		}
+		return new StudentPage(content, nextCursor(content, hasNext, sortBy), hasNext);
+	}
+	
+	private Window<Student> scroll(Specification<Student> spec, Sort sort, Map<String, Object> keys, int size)
+	{
+		ScrollPosition position = keys == null ? ScrollPosition.keyset() : ScrollPosition.forward(keys);
+		return studentRepository.findBy(spec, query -> query.sortBy(sort).limit(size).scroll(position));
+	}
+	
+	private static Specification<Student> matching(StudentFilter filter)
+	{
+		Specification<Student> spec = (root, query, cb) -> cb.between(root.<Float>get("marks"), filter.minMarks(), filter.maxMarks());
+		if (filter.namePrefix().isEmpty())
+		{
+			return spec;             // no name predicate, so students without a name are listed too
+		}
+		String pattern = filter.namePrefix().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+		return spec.and((root, query, cb) -> cb.like(root.<String>get("name"), pattern, '\\'));
+	}
+	
+	private static Specification<Student> rollnoIsNull(boolean isNull)
+	{
+		return (root, query, cb) -> isNull ? cb.isNull(root.get("rollno")) : cb.isNotNull(root.get("rollno"));
+	}
+	
+	private static String nextCursor(List<Student> content, boolean hasNext, String sortBy)
+	{
+		return hasNext && !content.isEmpty() ? encodeCursor(content.get(content.size() - 1), sortBy) : null;
+	}
+	
+	// cursor = base64url("<sort>:<id>:<sort key>") of the last student already returned,
+	// just "rollno:<id>" when that student has no rollno
+	private static String encodeCursor(Student last, String sortBy)
+	{
+		String cursor = sortBy + ":" + last.getId();
+		if (sortBy.equals("marks"))
+		{
+			cursor += ":" + last.getMarks();
+		}
+		else if (sortBy.equals("rollno") && last.getRollno() != null)
+		{
+			cursor += ":" + last.getRollno();
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	private static Map<String, Object> decodeCursor(String cursor, String sortBy)
+	{
+		try
+		{
+			String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 3);
+			if (!parts[0].equals(sortBy))
+			{
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor belongs to sort=" + parts[0]);
+			}
+			Map<String, Object> keys = new LinkedHashMap<>();
+			if (sortBy.equals("marks"))
+			{
+				keys.put("marks", Float.parseFloat(parts[2]));
+			}
+			else if (sortBy.equals("rollno") && parts.length == 3)
+			{
+				keys.put("rollno", parts[2]);
+			}
+			keys.put("id", Long.parseLong(parts[1]));
+			return keys;
+		}
+		catch (IllegalArgumentException | IndexOutOfBoundsException e)
+		{
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+		}
+	}
+	
 	@Override
 	public Student getStdDetails(long id) 
 	{
@@ -58,35 +257,277 @@ public class StudentServiceImpl implements StudentService
 	}
 	
 	@Override
+	@Transactional
 	public boolean updateStdDetails(long id, float marks) 
 	{
-		Student std = getStdDetails(id);           // Fetch student by ID.
+		checkMarks(marks);
+		boolean updated = studentRepository.updateMarks(id, marks) > 0;     // single UPDATE, false if no such student
+		if (updated)
+		{
+			leaderboard.updateAfterCommit(id, marks);
+		}
+		return updated;
+	}
+	
+	private void checkMarks(float marks)
+	{
+		String problem = marksRange.check(marks);
+		if (problem != null)
+		{
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, problem);
+		}
+	}
+	
+	// Each chunk is one JDBC batch of "UPDATE ... WHERE id = ?" in its own transaction; with
+	// rewriteBatchedStatements the driver sends the whole batch in one round trip.
+	private static final String UPDATE_MARKS_SQL = "UPDATE student SET marks = ? WHERE id = ? AND deleted = false";
+	
+	@Override
+	public MarksUpdateResult updateMarks(Iterator<MarksUpdate> updates)
+	{
+		long start = System.nanoTime();
+		List<MarksUpdate> chunk = new ArrayList<>(marksChunkSize);
+		List<Long> notFound = new ArrayList<>();
+		RowErrors rejected = new RowErrors(maxReportedRejected);
+		long received = 0;
+		long updated = 0;
+		String error = null;
 		
-		if(std!=null)
+		while (true)
+		{
+			MarksUpdate update;
+			try
+			{
+				if (!updates.hasNext())
+				{
+					break;
+				}
+				update = updates.next();
+			}
+			catch (RuntimeException e)
+			{
+				// an entry that can't be read ends the body, what came before it is still applied
+				error = unreadable(updates, e);
+				break;
+			}
+			received++;
+			String problem = validate(update);
+			if (problem != null)
+			{
+				rejected.add(received, problem);
+				continue;
+			}
+			chunk.add(update);
+			if (chunk.size() == marksChunkSize)
+			{
+				updated += applyMarks(chunk, notFound);
+				chunk.clear();
+			}
+		}
+		if (!chunk.isEmpty())
+		{
+			updated += applyMarks(chunk, notFound);
+		}
+		return new MarksUpdateResult(received, updated, notFound, rejected.failed, rejected.reported, error,
+				(System.nanoTime() - start) / 1_000_000);
+	}
+	
+	// MappingIterator throws an unchecked wrapper of the Jackson error; report the Jackson message
+	// and, when the updates are read straight from the body, the line the bad entry is on
+	private static String unreadable(Iterator<MarksUpdate> updates, RuntimeException e)
+	{
+		Throwable cause = e.getCause() != null ? e.getCause() : e;
+		String message = cause instanceof JsonProcessingException json ? json.getOriginalMessage() : cause.getMessage();
+		return updates instanceof MappingIterator<?> values
+				? "line " + values.getCurrentLocation().getLineNr() + ": " + message
+				: message;
+	}
+	
+	private String validate(MarksUpdate update)
+	{
+		if (update == null)
+		{
+			return "expected an object with id and marks";
+		}
+		if (update.id() == null)
+		{
+			return "id is required";
+		}
+		if (update.marks() == null)
+		{
+			return "marks is required";
+		}
+		return marksRange.check(update.marks());
+	}
+	
+	private long applyMarks(List<MarksUpdate> chunk, List<Long> notFound)
+	{
+		int[] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(UPDATE_MARKS_SQL, chunk, chunk.size(),
+				(ps, update) -> {
+					ps.setFloat(1, update.marks());
+					ps.setLong(2, update.id());
+				})[0]);
+		long updated = 0;
+		for (int i = 0; i < counts.length; i++)
 		{
-			std.setMarks(marks);                   // Update the marks
-			studentRepository.save(std);           // Save the updated student to the database
-			return true;
+			// SUCCESS_NO_INFO: the driver executed the row but did not report a count
+			if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO)
+			{
+				updated++;
+				leaderboard.update(chunk.get(i).id(), chunk.get(i).marks());
+			}
+			else if (notFound.size() < maxReportedMissing)
+			{
+				notFound.add(chunk.get(i).id());
+			}
 		}
-		return false;
+		return updated;
 	}
 	
 	@Override
+	@Transactional
 	public boolean deleteStdDetails(long id) 
 	{
-		boolean status = false;
+		return deleteStudents(List.of(id)) > 0;      // false if the student never existed or is already deleted
+	}
+	
+	// Soft delete in one UPDATE ... WHERE id IN (...), StudentPurger removes the rows later
+	@Override
+	@Transactional
+	public int deleteStudents(Collection<Long> ids)
+	{
+		if (ids.isEmpty())
+		{
+			return 0;
+		}
+		int deleted = studentRepository.softDelete(ids, Instant.now());
+		ids.forEach(leaderboard::removeAfterCommit);
+		return deleted;
+	}
+	
+	// Rows are saved chunk by chunk, one transaction per chunk, so Hibernate sends JDBC batches and the
+	// persistence context never holds more than one chunk. Invalid rows are reported, not saved.
+	@Override
+	public ImportResult importStudents(Iterator<StudentImportRow> rows)
+	{
+		long start = System.nanoTime();
+		RowErrors errors = new RowErrors(maxReportedErrors);
+		List<StudentImportRow> chunk = new ArrayList<>(importChunkSize);
+		long received = 0;
+		long imported = 0;
+		long lastLine = 0;
+		String error = null;
 		
 		try
 		{
-			studentRepository.deleteById(id);
-			status = true;
+			while (rows.hasNext())
+			{
+				StudentImportRow row = rows.next();
+				received++;
+				lastLine = row.line();
+				if (row.error() != null)
+				{
+					errors.add(row.line(), row.error());
+				}
+				else
+				{
+					chunk.add(row);
+				}
+				if (chunk.size() == importChunkSize)
+				{
+					imported += saveChunk(chunk, errors);
+					chunk.clear();
+				}
+			}
 		}
-		catch(Exception e)
+		catch (UncheckedIOException | IllegalArgumentException e)
 		{
-			e.printStackTrace();
-			status = false;
+			// the body broke off: keep what was read before it and say where it stopped
+			String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+			error = lastLine == 0 ? cause : "stopped after line " + lastLine + ": " + cause;
+		}
+		if (!chunk.isEmpty())
+		{
+			imported += saveChunk(chunk, errors);
+		}
+		return new ImportResult(received, imported, errors.failed, (System.nanoTime() - start) / 1_000_000, errors.reported, error);
+	}
+	
+	// If the database rejects the batch, the chunk is rolled back and replayed row by row
+	// to find out which rows failed; the rest of the chunk is still saved.
+	private long saveChunk(List<StudentImportRow> chunk, RowErrors errors)
+	{
+		try
+		{
+			transactionTemplate.executeWithoutResult(status -> {
+				for (StudentImportRow row : chunk)
+				{
+					entityManager.persist(row.student());
+				}
+				entityManager.flush();
+				entityManager.clear();
+			});
+			for (StudentImportRow row : chunk)
+			{
+				leaderboard.put(row.student().getId(), row.student().getMarks());
+			}
+			return chunk.size();
+		}
+		catch (RuntimeException chunkFailure)
+		{
+			long saved = 0;
+			for (StudentImportRow row : chunk)
+			{
+				row.student().setId(0);               // ids handed out to the rolled back batch are dropped
+				try
+				{
+					transactionTemplate.executeWithoutResult(status -> entityManager.persist(row.student()));
+					leaderboard.put(row.student().getId(), row.student().getMarks());
+					saved++;
+				}
+				catch (RuntimeException e)
+				{
+					errors.add(row.line(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+				}
+			}
+			return saved;
+		}
+	}
+	
+	// Each student goes to the sink and is detached right away, the export never holds more than one
+	@Override
+	@Transactional(readOnly = true)
+	public void exportStudents(Consumer<Student> sink)
+	{
+		try (Stream<Student> students = studentRepository.streamAll())
+		{
+			students.forEach(std -> {
+				sink.accept(std);
+				entityManager.detach(std);
+			});
+		}
+	}
+	
+	// Counts every failure but keeps only the first few messages, a bad 200k-row file can't blow up the response
+	private static class RowErrors
+	{
+		private final int limit;
+		private final List<RowError> reported = new ArrayList<>();
+		private long failed;
+		
+		RowErrors(int limit)
+		{
+			this.limit = limit;
+		}
+		
+		void add(long line, String message)
+		{
+			failed++;
+			if (reported.size() < limit)
+			{
+				reported.add(new RowError(line, message));
+			}
 		}
-		return status;
 	}
 }
 
@@ -0,0 +1,40 @@
+package in.sp.main.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import in.sp.main.entities.Student;
+
+class StudentCsvTest {
+
+	@Test
+	void splitsPlainAndQuotedFields() {
+		assertEquals(List.of("Ravi", "R-12", "81.5"), StudentCsv.parseLine("Ravi,R-12,81.5"));
+		assertEquals(List.of("Rao, Ravi", "say \"hi\"", ""), StudentCsv.parseLine("\"Rao, Ravi\",\"say \"\"hi\"\"\","));
+		assertEquals(List.of(""), StudentCsv.parseLine(""));
+	}
+
+	@Test
+	void rejectsUnterminatedQuotes() {
+		assertThrows(IllegalArgumentException.class, () -> StudentCsv.parseLine("\"Ravi,R-12,81.5"));
+	}
+
+	@Test
+	void formattedLinesParseBack() {
+		Student std = new Student(7, "Rao, \"Ravi\"", "R-12", 81.5f);
+
+		String line = StudentCsv.formatLine(std);
+
+		assertEquals("7,\"Rao, \"\"Ravi\"\"\",R-12,81.5", line);
+		assertEquals(List.of("7", "Rao, \"Ravi\"", "R-12", "81.5"), StudentCsv.parseLine(line));
+	}
+
+	@Test
+	void nullFieldsAreWrittenEmpty() {
+		assertEquals("3,,R-1,0.0", StudentCsv.formatLine(new Student(3, null, "R-1", 0f)));
+	}
+}
@@ -0,0 +1,88 @@
+package in.sp.main.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import in.sp.main.dto.StudentImportRow;
+import in.sp.main.entities.Student;
+
+class StudentImportReaderTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void readsCsvColumnsInAnyOrderAndReportsBadLines() {
+		List<StudentImportRow> rows = read(StudentImportReader.Format.CSV, """
+				\uFEFFmarks,rollno,extra,name
+				81.5,R-1,x,Ravi
+
+				ninety,R-2,x,Asha
+				101,R-3,x,Meera
+				70,R-4
+				"60,R-5,x,Unterminated
+				55,,x,Kiran
+				""");
+
+		assertEquals(6, rows.size());
+		Student ravi = rows.get(0).student();
+		assertEquals("Ravi", ravi.getName());
+		assertEquals("R-1", ravi.getRollno());
+		assertEquals(81.5f, ravi.getMarks());
+		assertEquals(2, rows.get(0).line());
+		assertEquals(new StudentImportRow(4, null, "marks is not a number"), rows.get(1));
+		assertEquals(new StudentImportRow(5, null, "marks must be between 0 and 100"), rows.get(2));
+		assertEquals(new StudentImportRow(6, null, "expected 4 columns, found 2"), rows.get(3));
+		assertEquals(new StudentImportRow(7, null, "unterminated quoted field"), rows.get(4));
+		assertEquals(new StudentImportRow(8, null, "rollno is required"), rows.get(5));
+	}
+
+	@Test
+	void csvWithoutTheRequiredHeaderFails() {
+		StudentImportReader reader = reader(StudentImportReader.Format.CSV, "name,marks\nRavi,81\n");
+
+		assertThrows(IllegalArgumentException.class, reader::hasNext);
+	}
+
+	@Test
+	void ndjsonRowsAreAlwaysNewAndNullLinesAreInvalid() {
+		List<StudentImportRow> rows = read(StudentImportReader.Format.NDJSON, """
+				{"id":42,"name":"Ravi","rollno":"R-1","marks":81.5}
+				null
+				{"name":"Asha",
+				{"name":" ","rollno":"R-2","marks":50}
+				""");
+
+		assertEquals(4, rows.size());
+		assertEquals(0, rows.get(0).student().getId());
+		assertEquals(new StudentImportRow(2, null, "expected a JSON object, found null"), rows.get(1));
+		assertNull(rows.get(2).student());
+		assertEquals(3, rows.get(2).line());
+		assertEquals(new StudentImportRow(4, null, "name is required"), rows.get(3));
+	}
+
+	@Test
+	void emptyBodyHasNoRows() {
+		assertFalse(reader(StudentImportReader.Format.NDJSON, "\n\n").hasNext());
+	}
+
+	private List<StudentImportRow> read(StudentImportReader.Format format, String body) {
+		List<StudentImportRow> rows = new ArrayList<>();
+		reader(format, body).forEachRemaining(rows::add);
+		return rows;
+	}
+
+	private StudentImportReader reader(StudentImportReader.Format format, String body) {
+		return new StudentImportReader(new BufferedReader(new StringReader(body)), format, objectMapper.readerFor(Student.class), new MarksRange(0, 100));
+	}
+}
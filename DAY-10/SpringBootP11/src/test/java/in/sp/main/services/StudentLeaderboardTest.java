@@ -0,0 +1,91 @@
+package in.sp.main.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import in.sp.main.dto.StudentRank;
+
+class StudentLeaderboardTest {
+
+	private final StudentLeaderboard leaderboard = new StudentLeaderboard(0, 100, 0.01f);
+
+	@Test
+	void ranksHigherMarksFirstAndSharesTies() {
+		leaderboard.put(1, 72.5f);
+		leaderboard.put(2, 91.25f);
+		leaderboard.put(3, 72.5f);
+		leaderboard.put(4, 40f);
+
+		assertEquals(1, leaderboard.rank(2).rank());
+		assertEquals(2, leaderboard.rank(1).rank());
+		assertEquals(2, leaderboard.rank(3).rank());
+		assertEquals(4, leaderboard.rank(4).rank());
+		assertEquals(25.0, leaderboard.rank(4).percentile(), 1e-9);
+		assertEquals(75.0, leaderboard.rank(1).percentile(), 1e-9);
+	}
+
+	@Test
+	void followsUpdatesAndDeletes() {
+		leaderboard.put(1, 50f);
+		leaderboard.put(2, 60f);
+		leaderboard.update(1, 70f);
+		leaderboard.update(99, 100f);           // unknown ids are ignored
+
+		assertEquals(1, leaderboard.rank(1).rank());
+		assertEquals(2, leaderboard.size());
+
+		leaderboard.remove(1);
+		assertNull(leaderboard.rank(1));
+		assertEquals(1, leaderboard.rank(2).rank());
+		assertEquals(1, leaderboard.size());
+	}
+
+	@Test
+	void topAndPercentile() {
+		for (int i = 1; i <= 10; i++) {
+			leaderboard.put(i, i * 10f);
+		}
+
+		List<Long> top = leaderboard.top(3).stream().map(StudentRank::id).toList();
+		assertEquals(List.of(10L, 9L, 8L), top);
+		assertEquals(50f, leaderboard.percentile(50).marks(), 1e-3);
+		assertEquals(90f, leaderboard.percentile(85).marks(), 1e-3);
+		assertEquals(100f, leaderboard.percentile(100).marks(), 1e-3);
+		assertEquals(10f, leaderboard.percentile(1).marks(), 1e-3);
+	}
+
+	@Test
+	void changesInATransactionWaitForItsCommit() {
+		leaderboard.put(1, 50f);
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			leaderboard.putAfterCommit(2, 60f);
+			leaderboard.updateAfterCommit(1, 90f);
+			leaderboard.removeAfterCommit(1);
+			assertNull(leaderboard.rank(2));
+			assertEquals(50f, leaderboard.rank(1).marks(), 1e-3);
+
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		}
+		finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		assertEquals(1, leaderboard.rank(2).rank());
+		assertNull(leaderboard.rank(1));
+	}
+
+	@Test
+	void changesOutsideATransactionApplyAtOnce() {
+		leaderboard.putAfterCommit(1, 50f);
+		leaderboard.updateAfterCommit(1, 70f);
+
+		assertEquals(70f, leaderboard.rank(1).marks(), 1e-3);
+	}
+}
@@ -0,0 +1,131 @@
+package in.sp.main.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import in.sp.main.controller.StudentController;
+import in.sp.main.dto.MarksUpdateResult;
+import in.sp.main.dto.RowError;
+import in.sp.main.entities.Student;
+import in.sp.main.repository.StudentRepository;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({ StudentServiceImpl.class, StudentLeaderboard.class, MarksRange.class })
+class StudentMarksTest {
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final StudentController controller = new StudentController();
+	private long ravi;
+	private long asha;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(controller, "studentService", studentService);
+		ReflectionTestUtils.setField(controller, "objectMapper", new ObjectMapper());
+		ravi = studentRepository.saveAndFlush(new Student(0, "Ravi", "R-1", 40)).getId();
+		asha = studentRepository.saveAndFlush(new Student(0, "Asha", "R-2", 60)).getId();
+	}
+
+	@Test
+	void singleUpdateIsOneStatementAndSkipsDeletedStudents() {
+		assertTrue(studentService.updateStdDetails(ravi, 75));
+		assertEquals(75f, marks(ravi));
+
+		assertFalse(studentService.updateStdDetails(-1, 75));
+
+		studentRepository.softDelete(List.of(asha), Instant.now());
+		assertFalse(studentService.updateStdDetails(asha, 75));
+		assertEquals(60f, marks(asha));
+	}
+
+	@Test
+	void everyWritePathRejectsMarksOutOfRange() throws Exception {
+		ResponseStatusException update = assertThrows(ResponseStatusException.class, () -> studentService.updateStdDetails(ravi, 101));
+		assertEquals(HttpStatus.BAD_REQUEST, update.getStatusCode());
+		assertEquals("marks must be between 0 and 100", update.getReason());
+		assertThrows(ResponseStatusException.class, () -> studentService.addStudentDetails(new Student(0, "Kiran", "R-3", -1)));
+		assertEquals(40f, marks(ravi));
+		assertEquals(2, studentRepository.count());
+
+		MarksUpdateResult bulk = put("[{\"id\": %d, \"marks\": 100.5}]".formatted(ravi)).getBody();
+		assertEquals(List.of(new RowError(1, "marks must be between 0 and 100")), bulk.errors());
+	}
+
+	@Test
+	void batchAppliesValidEntriesAndReportsTheRest() throws Exception {
+		ResponseEntity<MarksUpdateResult> response = put("""
+				[{"id": %d, "marks": 81.5},
+				 {"id": %d, "marks": 101},
+				 {"marks": 50},
+				 {"id": -1, "marks": 50},
+				 {"id": %d}]
+				""".formatted(ravi, asha, asha));
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		MarksUpdateResult result = response.getBody();
+		assertEquals(5, result.received());
+		assertEquals(1, result.updated());
+		assertEquals(List.of(-1L), result.notFound());
+		assertEquals(3, result.rejected());
+		assertEquals(List.of(new RowError(2, "marks must be between 0 and 100"), new RowError(3, "id is required"),
+				new RowError(5, "marks is required")), result.errors());
+		assertNull(result.error());
+		assertEquals(81.5f, marks(ravi));
+		assertEquals(60f, marks(asha));
+	}
+
+	@Test
+	void malformedEntryStopsTheBatchButKeepsWhatCameBefore() throws Exception {
+		ResponseEntity<MarksUpdateResult> response = put("""
+				[{"id": %d, "marks": 90},
+				 {"id": %d, "marks": 90,,},
+				 {"id": %d, "marks": 10}]
+				""".formatted(ravi, asha, asha));
+
+		assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+		MarksUpdateResult result = response.getBody();
+		assertEquals(1, result.updated());
+		assertTrue(result.error().startsWith("line 2: "), result.error());
+		assertEquals(90f, marks(ravi));
+		assertEquals(60f, marks(asha));
+	}
+
+	private ResponseEntity<MarksUpdateResult> put(String json) throws IOException {
+		return controller.updateMarks(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	// read past the persistence context, the updates under test bypass it
+	private float marks(long id) {
+		return jdbcTemplate.queryForObject("SELECT marks FROM student WHERE id = ?", Float.class, id);
+	}
+}
@@ -0,0 +1,86 @@
+package in.sp.main.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import in.sp.main.dto.StudentFilter;
+import in.sp.main.dto.StudentPage;
+import in.sp.main.entities.Student;
+import in.sp.main.repository.StudentRepository;
+
+// Runs against the embedded H2 database, which like MySQL sorts NULLs first
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({ StudentServiceImpl.class, StudentLeaderboard.class, MarksRange.class })
+class StudentPagingTest {
+
+	private static final StudentFilter EVERYONE = new StudentFilter(-Float.MAX_VALUE, Float.MAX_VALUE, "");
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@BeforeEach
+	void setUp() {
+		String[][] rows = { { "Ravi", null }, { "Asha", "R-2" }, { null, null }, { "Meera", "R-1" },
+				{ "Rahul", null }, { null, "R-3" }, { "Kiran", null } };
+		for (String[] row : rows) {
+			studentRepository.save(new Student(0, row[0], row[1], 50));
+		}
+	}
+
+	@Test
+	void keysetPagesWalkNullRollnosInBothDirections() {
+		List<String> ascending = rollnos(walk("rollno", false, 2));
+		assertEquals(Arrays.asList(null, null, null, null, "R-1", "R-2", "R-3"), ascending);
+
+		List<String> descending = rollnos(walk("rollno", true, 3));
+		assertEquals(Arrays.asList("R-3", "R-2", "R-1", null, null, null, null), descending);
+	}
+
+	@Test
+	void noNamePrefixListsStudentsWithoutAName() {
+		assertEquals(7, walk("id", false, 3).size());
+		assertEquals(7, studentService.findStudents(EVERYONE, "marks", false, null, 0, 10).content().size());
+
+		StudentPage prefixed = studentService.findStudents(new StudentFilter(0, 100, "Ra"), "id", false, null, null, 10);
+		assertEquals(List.of("Ravi", "Rahul"), prefixed.content().stream().map(Student::getName).toList());
+		assertNull(prefixed.nextCursor());
+	}
+
+	@Test
+	void namePrefixWildcardsAreLiteral() {
+		studentRepository.save(new Student(0, "R_x", "R-9", 50));
+
+		StudentPage page = studentService.findStudents(new StudentFilter(0, 100, "R_"), "id", false, null, null, 10);
+
+		assertEquals(List.of("R_x"), page.content().stream().map(Student::getName).toList());
+	}
+
+	private List<Student> walk(String sort, boolean descending, int size) {
+		List<Student> seen = new ArrayList<>();
+		String cursor = null;
+		do {
+			StudentPage page = studentService.findStudents(EVERYONE, sort, descending, cursor, null, size);
+			seen.addAll(page.content());
+			cursor = page.nextCursor();
+		} while (cursor != null);
+		assertEquals(seen.size(), seen.stream().map(Student::getId).distinct().count());
+		return seen;
+	}
+
+	private static List<String> rollnos(List<Student> students) {
+		return students.stream().map(Student::getRollno).toList();
+	}
+}
@@ -0,0 +1,74 @@
+package in.sp.main.services;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import in.sp.main.repository.StudentRepository;
+
+class StudentPurgerTest {
+
+	private final StudentPurger purger = new StudentPurger();
+	private final StudentRepository studentRepository = mock(StudentRepository.class);
+	private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+
+	@BeforeEach
+	void setUp() {
+		when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+				invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+		ReflectionTestUtils.setField(purger, "studentRepository", studentRepository);
+		ReflectionTestUtils.setField(purger, "transactionTemplate", transactionTemplate);
+		ReflectionTestUtils.setField(purger, "batchSize", 100);
+		ReflectionTestUtils.setField(purger, "retentionDays", 7);
+		ReflectionTestUtils.setField(purger, "windowMinutes", 60);
+		ReflectionTestUtils.setField(purger, "pauseMillis", 0L);
+	}
+
+	@Test
+	void deletesInBatchesUntilOneComesBackShort() {
+		when(studentRepository.purgeDeleted(any(), eq(100))).thenReturn(100, 100, 42, 100);
+
+		purger.purge();
+
+		verify(studentRepository, times(3)).purgeDeleted(any(), eq(100));
+		verify(transactionTemplate, times(3)).execute(any());          // one transaction per batch
+	}
+
+	@Test
+	void onlyRowsPastTheRetentionAreEligible() {
+		when(studentRepository.purgeDeleted(any(), eq(100))).thenReturn(0);
+		Instant before = Instant.now().minus(Duration.ofDays(7));
+
+		purger.purge();
+
+		Instant after = Instant.now().minus(Duration.ofDays(7));
+		ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+		verify(studentRepository).purgeDeleted(cutoff.capture(), eq(100));
+		assertFalse(cutoff.getValue().isBefore(before));
+		assertFalse(cutoff.getValue().isAfter(after));
+	}
+
+	@Test
+	void stopsWhenTheWindowIsUsedUp() {
+		ReflectionTestUtils.setField(purger, "windowMinutes", 0);
+		when(studentRepository.purgeDeleted(any(), eq(100))).thenReturn(100);
+
+		purger.purge();
+
+		verify(studentRepository, times(1)).purgeDeleted(any(), eq(100));     // the rest waits for the next window
+	}
+}
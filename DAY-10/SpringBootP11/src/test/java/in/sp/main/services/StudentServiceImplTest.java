@@ -0,0 +1,114 @@
+package in.sp.main.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import in.sp.main.dto.ImportResult;
+import in.sp.main.dto.StudentImportRow;
+import in.sp.main.entities.Student;
+import jakarta.persistence.EntityManager;
+
+class StudentServiceImplTest {
+
+	private final StudentServiceImpl service = new StudentServiceImpl();
+	private final EntityManager entityManager = mock(EntityManager.class);
+	private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		doAnswer(invocation -> {
+			invocation.getArgument(0, Consumer.class).accept(mock(TransactionStatus.class));
+			return null;
+		}).when(transactionTemplate).executeWithoutResult(any());
+		ReflectionTestUtils.setField(service, "entityManager", entityManager);
+		ReflectionTestUtils.setField(service, "transactionTemplate", transactionTemplate);
+		ReflectionTestUtils.setField(service, "leaderboard", new StudentLeaderboard(0, 100, 0.01f));
+		ReflectionTestUtils.setField(service, "importChunkSize", 2);
+		ReflectionTestUtils.setField(service, "maxReportedErrors", 10);
+	}
+
+	@Test
+	void importsEveryValidRowAndReportsTheRest() {
+		ImportResult result = service.importStudents(List.of(
+				StudentImportRow.valid(2, new Student(0, "Ravi", "R-1", 81)),
+				StudentImportRow.invalid(3, "marks is not a number"),
+				StudentImportRow.valid(4, new Student(0, "Asha", "R-2", 90)),
+				StudentImportRow.valid(5, new Student(0, "Meera", "R-3", 70))).iterator());
+
+		assertEquals(4, result.received());
+		assertEquals(3, result.imported());
+		assertEquals(1, result.failed());
+		assertNull(result.error());
+		verify(entityManager, times(3)).persist(any(Student.class));
+	}
+
+	@Test
+	void bodyThatBreaksOffStillImportsWhatCameBefore() {
+		Iterator<StudentImportRow> rows = new Iterator<>() {
+			private int served;
+
+			@Override
+			public boolean hasNext() {
+				if (served == 3) {
+					throw new UncheckedIOException(new IOException("connection reset"));
+				}
+				return true;
+			}
+
+			@Override
+			public StudentImportRow next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				served++;
+				return StudentImportRow.valid(served + 1, new Student(0, "Student " + served, "R-" + served, 50));
+			}
+		};
+
+		ImportResult result = service.importStudents(rows);
+
+		assertEquals(3, result.received());
+		assertEquals(3, result.imported());
+		assertEquals("stopped after line 4: connection reset", result.error());
+		verify(entityManager, times(3)).persist(any(Student.class));
+	}
+
+	@Test
+	void missingHeaderIsReportedWithNothingImported() {
+		Iterator<StudentImportRow> headerless = new Iterator<>() {
+			@Override
+			public boolean hasNext() {
+				throw new IllegalArgumentException("CSV header must contain name, rollno and marks columns");
+			}
+
+			@Override
+			public StudentImportRow next() {
+				throw new NoSuchElementException();
+			}
+		};
+
+		ImportResult result = service.importStudents(headerless);
+
+		assertEquals(0, result.imported());
+		assertEquals("CSV header must contain name, rollno and marks columns", result.error());
+	}
+}
@@ -0,0 +1,80 @@
+package in.sp.main.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import in.sp.main.dto.StudentFilter;
+import in.sp.main.entities.Student;
+import in.sp.main.repository.StudentRepository;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({ StudentServiceImpl.class, StudentLeaderboard.class, MarksRange.class })
+class StudentSoftDeleteTest {
+
+	@Autowired
+	private StudentService studentService;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private long ravi;
+	private long asha;
+
+	@BeforeEach
+	void setUp() {
+		ravi = studentRepository.save(new Student(0, "Ravi", "R-1", 40)).getId();
+		asha = studentRepository.save(new Student(0, "Asha", "R-2", 60)).getId();
+		entityManager.flush();
+	}
+
+	@Test
+	void deletedStudentsDisappearFromEveryRead() {
+		assertEquals(1, studentService.deleteStudents(List.of(ravi, -1L)));
+		entityManager.clear();             // the bulk UPDATE bypasses the persistence context
+
+		assertNull(studentService.getStdDetails(ravi));
+		assertEquals(List.of(asha), ids(studentService.getAllStdDetails()));
+		StudentFilter everyone = new StudentFilter(-Float.MAX_VALUE, Float.MAX_VALUE, "");
+		assertEquals(List.of(asha), ids(studentService.findStudents(everyone, "id", false, null, null, 10).content()));
+		assertEquals(List.of(asha), ids(studentService.findStudents(everyone, "id", false, null, 0, 10).content()));
+		List<Student> exported = new ArrayList<>();
+		studentService.exportStudents(exported::add);
+		assertEquals(List.of(asha), ids(exported));
+
+		// the row stays until the purge, marked with when it was deleted
+		assertEquals(1, jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM student WHERE id = ? AND deleted = true AND deleted_at IS NOT NULL", Integer.class, ravi));
+	}
+
+	@Test
+	void deletingTwiceOrUpdatingADeletedStudentChangesNothing() {
+		assertTrue(studentService.deleteStdDetails(ravi));
+		assertFalse(studentService.deleteStdDetails(ravi));
+		assertEquals(0, studentService.deleteStudents(List.of(ravi)));
+		assertFalse(studentService.updateStdDetails(ravi, 99));
+		assertEquals(0, studentService.deleteStudents(List.of()));
+	}
+
+	private static List<Long> ids(List<Student> students) {
+		return students.stream().map(Student::getId).toList();
+	}
+}
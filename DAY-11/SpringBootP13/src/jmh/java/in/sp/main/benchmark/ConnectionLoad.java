@@ -0,0 +1,86 @@
+package in.sp.main.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import in.sp.main.config.VirtualThreads;
+
+// Closed-loop load against a running instance: each client keeps one request in flight until the duration is up.
+// Compare the default and vthreads profiles with the same arguments, e.g. after mvn -Pjmh test-compile:
+//   java -cp target/test-classes:<test classpath> in.sp.main.benchmark.ConnectionLoad \
+//        http://localhost:8080/employees/email/a@x.com 5000 60
+public class ConnectionLoad {
+
+	// latency histogram in 0.1 ms buckets, the last bucket collects everything from 30 s up
+	private static final int BUCKETS = 300_001;
+
+	public static void main(String[] args) throws Exception {
+		URI target = URI.create(args.length > 0 ? args[0] : "http://localhost:8080/employees?size=20");
+		int clients = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+		long seconds = args.length > 2 ? Long.parseLong(args[2]) : 60;
+
+		HttpClient http = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(10))
+				.build();
+		HttpRequest request = HttpRequest.newBuilder(target).timeout(Duration.ofSeconds(30)).GET().build();
+
+		AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+		AtomicLong failures = new AtomicLong();
+		long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+
+		// one thread per client, virtual when this runs on Java 21+
+		ExecutorService executor = Executors.newCachedThreadPool(VirtualThreads.factory("load-client-"));
+		try {
+			for (int c = 0; c < clients; c++) {
+				executor.submit(() -> {
+					while (System.nanoTime() < deadline) {
+						long start = System.nanoTime();
+						try {
+							if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() >= 400) {
+								failures.incrementAndGet();
+							}
+						}
+						catch (Exception e) {
+							failures.incrementAndGet();
+						}
+						histogram.incrementAndGet((int) Math.min(BUCKETS - 1, (System.nanoTime() - start) / 100_000));
+					}
+				});
+			}
+		}
+		finally {
+			executor.shutdown();
+			executor.awaitTermination(seconds + 60, TimeUnit.SECONDS);
+		}
+
+		long requests = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			requests += histogram.get(i);
+		}
+		System.out.printf("virtualThreads=%b clients=%d requests=%d failures=%d throughput=%.0f/s p50=%.1fms p99=%.1fms p999=%.1fms%n",
+				VirtualThreads.available(), clients, requests, failures.get(), requests / (double) seconds,
+				percentile(histogram, requests, 0.50), percentile(histogram, requests, 0.99),
+				percentile(histogram, requests, 0.999));
+	}
+
+	private static double percentile(AtomicLongArray histogram, long total, double p) {
+		long rank = (long) Math.ceil(p * total);
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += histogram.get(i);
+			if (seen >= rank && seen > 0) {
+				return (i + 1) / 10.0;
+			}
+		}
+		return 0;
+	}
+}
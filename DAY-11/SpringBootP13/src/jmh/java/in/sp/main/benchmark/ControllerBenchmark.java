@@ -0,0 +1,258 @@
+package in.sp.main.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import in.sp.main.cache.EmailLookupCache;
+import in.sp.main.controller.Controller;
+import in.sp.main.dto.BulkInsertResult;
+import in.sp.main.dto.DepartmentBonusReport;
+import in.sp.main.dto.DepartmentHeadcount;
+import in.sp.main.dto.DepartmentSalaryStats;
+import in.sp.main.dto.EmployeePage;
+import in.sp.main.dto.EmployeeSummary;
+import in.sp.main.dto.HeadcountReport;
+import in.sp.main.dto.UpsertResult;
+import in.sp.main.entity.EmployeeEntity;
+import in.sp.main.service.BonusCalculator;
+import in.sp.main.service.EmployeeSearchIndex;
+import in.sp.main.service.EmployeeService;
+import in.sp.main.service.EmployeeWriteBehindQueue;
+import in.sp.main.service.Granularity;
+import in.sp.main.service.HeadcountSweep;
+
+// Controller handler methods called directly against an in-memory service, no MockMvc or servlet
+// stack in between, so this is the handler's own overhead plus writing the response body.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class ControllerBenchmark {
+
+	private Controller controller;
+	private ObjectMapper objectMapper;
+	private EmployeeEntity newEmployee;
+
+	@Setup
+	public void setUp() {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		controller = new Controller();
+		ReflectionTestUtils.setField(controller, "employeeService", new InMemoryEmployeeService());
+		ReflectionTestUtils.setField(controller, "objectMapper", objectMapper);
+		ReflectionTestUtils.setField(controller, "emailCache", new EmailLookupCache(10000, 60000));
+		ReflectionTestUtils.setField(controller, "writeBehindQueue", new EmployeeWriteBehindQueue(false, 1, 1, 1, 0, 1));
+		newEmployee = new EmployeeEntity(0, "Jane Doe", "jane.doe@acme.com", 640000, "Sales", LocalDate.of(2023, 2, 1), null);
+	}
+
+	@Benchmark
+	public ResponseEntity<EmployeeEntity> getEmployeeByEmail() {
+		return controller.getEmployeeByEmail("employee7@acme.com");
+	}
+
+	// same lookup with the response body written the way the message converter would
+	@Benchmark
+	public byte[] getEmployeeByEmailAsJson() throws Exception {
+		return objectMapper.writeValueAsBytes(controller.getEmployeeByEmail("employee7@acme.com").getBody());
+	}
+
+	@Benchmark
+	public ResponseEntity<?> createEmployee() {
+		return controller.createEmployee(newEmployee);
+	}
+
+	@Benchmark
+	public byte[] getEmployeesPageAsJson() throws Exception {
+		return objectMapper.writeValueAsBytes(controller.getEmployees(null, 50));
+	}
+
+	@Benchmark
+	public DepartmentBonusReport getDepartmentBonuses() {
+		return controller.getDepartmentBonuses("Engineering");
+	}
+
+	@Benchmark
+	public List<EmployeeSummary> searchEmployees() {
+		return controller.searchEmployees("employee 4", 20);
+	}
+
+	// In-memory stand-in for the database-backed service, so any handler can be benchmarked without MySQL
+	static class InMemoryEmployeeService implements EmployeeService {
+
+		private final List<EmployeeEntity> employees = new ArrayList<>();
+		private final BonusCalculator bonusCalculator =
+				new BonusCalculator("300000,600000,1200000", "0.10,0.08,0.06,0.05", 0.005, 0.05, "");
+		private final EmployeeSearchIndex searchIndex = new EmployeeSearchIndex();
+
+		InMemoryEmployeeService() {
+			for (int i = 0; i < 50; i++) {
+				EmployeeEntity employee = new EmployeeEntity(i, "Employee " + i, "employee" + i + "@acme.com",
+						300000 + i * 1000, i % 5 == 0 ? "Sales" : "Engineering", LocalDate.of(2015, 1, 1).plusDays(i * 30L),
+						i % 7 == 0 ? LocalDate.of(2022, 1, 1) : null);
+				employees.add(employee);
+				searchIndex.index(employee);
+			}
+		}
+
+		@Override
+		public EmployeeEntity findByEmail(String email) {
+			return employees.get(7);
+		}
+
+		@Override
+		public EmployeeEntity addEmployee(EmployeeEntity employee) {
+			return employee;
+		}
+
+		@Override
+		public EmployeePage findPage(String cursor, int size) {
+			return new EmployeePage(employees.subList(0, Math.min(size, employees.size())), "NTA6RW5naW5lZXJpbmc");
+		}
+
+		@Override
+		public double calculateBonus(long employeeId) {
+			EmployeeEntity employee = employees.get((int) employeeId);
+			return bonusCalculator.bonus(employee.getSalary(), BonusCalculator.tenureMonths(employee.getJoiningDate(),
+					employee.getResignationDate(), LocalDate.now()), employee.getDepartment());
+		}
+
+		@Override
+		public DepartmentBonusReport calculateDepartmentBonuses(String department) {
+			List<EmployeeEntity> members = findByDepartment(department);
+			int n = members.size();
+			long[] ids = new long[n];
+			double[] salaries = new double[n];
+			int[] tenure = new int[n];
+			for (int i = 0; i < n; i++) {
+				EmployeeEntity employee = members.get(i);
+				ids[i] = employee.getId();
+				salaries[i] = employee.getSalary();
+				tenure[i] = BonusCalculator.tenureMonths(employee.getJoiningDate(), employee.getResignationDate(), LocalDate.now());
+			}
+			double[] bonuses = new double[n];
+			bonusCalculator.evaluate(salaries, tenure, bonusCalculator.departmentMultiplier(department), bonuses, n);
+			return new DepartmentBonusReport(department, n, Arrays.stream(bonuses).sum(), ids, bonuses);
+		}
+
+		@Override
+		public UpsertResult upsertByEmail(EmployeeEntity employee, Long expectedVersion) {
+			EmployeeEntity existing = findByEmailExact(employee.getEmail());
+			if (existing == null) {
+				return new UpsertResult(employee.getId(), employee.getEmail(), UpsertResult.Outcome.CREATED);
+			}
+			return new UpsertResult(existing.getId(), employee.getEmail(), UpsertResult.Outcome.UPDATED);
+		}
+
+		@Override
+		public BulkInsertResult addEmployees(Iterator<EmployeeEntity> employees) {
+			int inserted = 0;
+			while (employees.hasNext()) {
+				employees.next();
+				inserted++;
+			}
+			return new BulkInsertResult(inserted, 0, List.of(), null, null);
+		}
+
+		@Override
+		public List<EmployeeEntity> findByDepartment(String department) {
+			return employees.stream().filter(employee -> employee.getDepartment().equals(department)).toList();
+		}
+
+		@Override
+		public EmployeeSummary findSummaryByEmail(String email) {
+			EmployeeEntity employee = findByEmailExact(email);
+			return employee != null ? summary(employee) : null;
+		}
+
+		@Override
+		public List<EmployeeSummary> findSummariesByDepartment(String department) {
+			return findByDepartment(department).stream().map(InMemoryEmployeeService::summary).toList();
+		}
+
+		@Override
+		public List<DepartmentSalaryStats> salaryStatsByDepartment(double bucketWidth) {
+			List<DepartmentSalaryStats> stats = new ArrayList<>();
+			for (String department : new TreeSet<>(employees.stream().map(EmployeeEntity::getDepartment).toList())) {
+				double[] salaries = findByDepartment(department).stream().mapToDouble(EmployeeEntity::getSalary).sorted().toArray();
+				double sum = Arrays.stream(salaries).sum();
+				stats.add(new DepartmentSalaryStats(department, salaries.length, sum, sum / salaries.length, salaries[0],
+						salaries[salaries.length - 1], percentile(salaries, 0.50), percentile(salaries, 0.90),
+						percentile(salaries, 0.99)));
+			}
+			return stats;
+		}
+
+		@Override
+		public HeadcountReport headcount(LocalDate from, LocalDate to, Granularity granularity) {
+			List<LocalDate> periodStarts = new ArrayList<>();
+			List<Integer> boundaries = new ArrayList<>();
+			for (LocalDate start = from; !start.isAfter(to); start = granularity.next(start)) {
+				periodStarts.add(start);
+				boundaries.add((int) start.toEpochDay());
+			}
+			boundaries.add((int) to.plusDays(1).toEpochDay());
+
+			List<DepartmentHeadcount> departments = new ArrayList<>();
+			for (String department : new TreeSet<>(employees.stream().map(EmployeeEntity::getDepartment).toList())) {
+				List<EmployeeEntity> members = findByDepartment(department);
+				int[] joins = members.stream().mapToInt(employee -> (int) employee.getJoiningDate().toEpochDay()).toArray();
+				int[] resigns = members.stream().filter(employee -> employee.getResignationDate() != null)
+						.mapToInt(employee -> (int) employee.getResignationDate().toEpochDay()).toArray();
+				departments.add(HeadcountSweep.sweep(department, joins, joins.length, resigns, resigns.length,
+						boundaries.stream().mapToInt(Integer::intValue).toArray(), new int[5]));
+			}
+			return new HeadcountReport(from, to, granularity.name(), periodStarts,
+					List.of("<1y", "1-2y", "2-5y", "5-10y", "10y+"), departments);
+		}
+
+		@Override
+		public List<EmployeeSummary> search(String query, int limit) {
+			return searchIndex.search(query, limit);
+		}
+
+		@Override
+		public void exportByDepartment(String department, Consumer<EmployeeEntity> sink) {
+			findByDepartment(department).forEach(sink);
+		}
+
+		private EmployeeEntity findByEmailExact(String email) {
+			for (EmployeeEntity employee : employees) {
+				if (employee.getEmail().equals(email)) {
+					return employee;
+				}
+			}
+			return null;
+		}
+
+		private static EmployeeSummary summary(EmployeeEntity employee) {
+			return new EmployeeSummary(employee.getId(), employee.getName(), employee.getDepartment());
+		}
+
+		private static double percentile(double[] sorted, double p) {
+			return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)];
+		}
+	}
+}
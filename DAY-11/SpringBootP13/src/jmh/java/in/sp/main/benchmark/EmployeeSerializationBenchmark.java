@@ -0,0 +1,76 @@
+package in.sp.main.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import in.sp.main.entity.EmployeeEntity;
+
+// Jackson cost of EmployeeEntity request and response bodies, LocalDate fields included.
+// The mapper is built the way Spring Boot builds its own (JavaTimeModule, ISO dates).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class EmployeeSerializationBenchmark {
+
+	private ObjectWriter employeeWriter;
+	private ObjectWriter listWriter;
+	private ObjectReader employeeReader;
+
+	private EmployeeEntity employee;
+	private List<EmployeeEntity> page;
+	private byte[] employeeJson;
+
+	@Setup
+	public void setUp() throws Exception {
+		ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+		employeeWriter = mapper.writerFor(EmployeeEntity.class);
+		listWriter = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, EmployeeEntity.class));
+		employeeReader = mapper.readerFor(EmployeeEntity.class);
+
+		employee = new EmployeeEntity(42, "John Smith", "john.smith@acme.com", 750000, "Engineering",
+				LocalDate.of(2019, 4, 1), LocalDate.of(2024, 9, 30));
+		page = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			page.add(new EmployeeEntity(i, "Employee " + i, "employee" + i + "@acme.com", 300000 + i * 1000,
+					"Engineering", LocalDate.of(2015, 1, 1).plusDays(i * 30L), null));
+		}
+		employeeJson = employeeWriter.writeValueAsBytes(employee);
+	}
+
+	@Benchmark
+	public byte[] serializeEmployee() throws Exception {
+		return employeeWriter.writeValueAsBytes(employee);
+	}
+
+	// a default-sized GET /employees page
+	@Benchmark
+	public byte[] serializePage() throws Exception {
+		return listWriter.writeValueAsBytes(page);
+	}
+
+	@Benchmark
+	public EmployeeEntity deserializeEmployee() throws Exception {
+		return employeeReader.readValue(employeeJson);
+	}
+}
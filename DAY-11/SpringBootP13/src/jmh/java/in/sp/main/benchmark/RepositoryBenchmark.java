@@ -0,0 +1,123 @@
+package in.sp.main.benchmark;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import in.sp.main.SpringBootP13Application;
+import in.sp.main.dto.EmployeeSummary;
+import in.sp.main.entity.EmployeeEntity;
+import in.sp.main.repository.Repository;
+import in.sp.main.service.EmployeeService;
+
+// Repository calls through the real Spring Data / Hibernate stack (second-level and query cache
+// included) against an in-memory H2 database in MySQL mode. MySQL-only native queries are left out.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx1g", "-Dspring.devtools.restart.enabled=false" })
+public class RepositoryBenchmark {
+
+	private static final String[] DEPARTMENTS = { "Engineering", "Sales", "Finance", "Support", "Marketing" };
+
+	@Param({ "10000" })
+	private int employees;
+
+	private ConfigurableApplicationContext context;
+	private Repository repository;
+	private long firstId;
+
+	@Setup
+	public void setUp() {
+		context = new SpringApplicationBuilder(SpringBootP13Application.class)
+				.web(WebApplicationType.NONE)
+				.properties(
+						"spring.datasource.url=jdbc:h2:mem:jmh;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+						"spring.datasource.driver-class-name=org.h2.Driver",
+						"spring.datasource.username=sa",
+						"spring.datasource.password=",
+						"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+						"spring.jpa.hibernate.ddl-auto=create-drop",
+						"employee.cache.snapshot.enabled=false",
+						"employee.search.load-on-startup=false",
+						"employee.datasource.replicas.enabled=false",
+						"employee.scheduling.enabled=false",
+						"logging.level.root=WARN")
+				.run();
+		repository = context.getBean(Repository.class);
+
+		context.getBean(EmployeeService.class).addEmployees(IntStream.range(0, employees)
+				.mapToObj(i -> new EmployeeEntity(0, "Employee " + i, email(i), 300000 + (i % 500) * 2000,
+						DEPARTMENTS[i % DEPARTMENTS.length], LocalDate.of(2010, 1, 1).plusDays(i % 5000), null))
+				.iterator());
+		firstId = repository.findByEmail(email(0)).getId();      // bulk ids are consecutive
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	// second-level cache hit once warmed up
+	@Benchmark
+	public EmployeeEntity findById(Cursor cursor) {
+		return repository.findById(firstId + cursor.next(employees)).orElse(null);
+	}
+
+	// query cache hinted
+	@Benchmark
+	public EmployeeEntity findByEmail(Cursor cursor) {
+		return repository.findByEmail(email(cursor.next(employees)));
+	}
+
+	@Benchmark
+	public EmployeeSummary findSummaryByEmail(Cursor cursor) {
+		return repository.findSummaryByEmail(email(cursor.next(employees)));
+	}
+
+	@Benchmark
+	public List<EmployeeEntity> findFirstPage() {
+		return repository.findFirstPage(Limit.of(50));
+	}
+
+	@Benchmark
+	public List<EmployeeSummary> findSummariesByDepartment(Cursor cursor) {
+		return repository.findSummariesByDepartment(DEPARTMENTS[cursor.next(DEPARTMENTS.length)]);
+	}
+
+	private static String email(int i) {
+		return "employee" + i + "@acme.com";
+	}
+
+	// Walks the keys per thread, so every call looks up a different row
+	@State(Scope.Thread)
+	public static class Cursor {
+
+		private int position;
+
+		int next(int bound) {
+			position = position + 1 < bound ? position + 1 : 0;
+			return position;
+		}
+	}
+}
@@ -0,0 +1,10 @@
+package in.sp.main.cache;
+
+// Point-in-time counters of the email lookup cache, used to size it in production
+public record CacheStats(int size, int maxSize, long hits, long misses, long evictions, long expirations, double hitRatio)
+{
+    public CacheStats(int size, int maxSize, long hits, long misses, long evictions, long expirations) {
+        this(size, maxSize, hits, misses, evictions, expirations,
+                hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+    }
+}
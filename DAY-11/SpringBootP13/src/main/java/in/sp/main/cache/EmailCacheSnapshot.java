@@ -0,0 +1,179 @@
+package in.sp.main.cache;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import in.sp.main.cache.EmailLookupCache.HotEntry;
+import in.sp.main.config.ReplicaRoutingDataSource;
+import in.sp.main.entity.EmployeeEntity;
+import in.sp.main.repository.Repository;
+import jakarta.annotation.PreDestroy;
+
+// Warm start for the email lookup cache.
+// The ids of the hottest entries are written periodically (and on shutdown) to a compact binary file, which is
+// memory-mapped on startup; those rows are then read back from the database and replayed into the cache
+// before the application reports ready. The file holds no personal data, and replayed entries are as current
+// as the database (version included) instead of as old as the last snapshot.
+//
+// File layout: int magic, int count, then per entry long employee id and long expiry (epoch millis),
+// hottest first. Files with another magic, such as the EMP1 format that held whole rows, are ignored.
+@Component
+public class EmailCacheSnapshot implements ApplicationRunner
+{
+    private static final Logger log = LoggerFactory.getLogger(EmailCacheSnapshot.class);
+
+    private static final int MAGIC = 0x454D5032;      // "EMP2"
+    private static final int HEADER_BYTES = 8;
+    private static final int ENTRY_BYTES = 16;
+    private static final int LOAD_CHUNK = 1000;
+
+    @Autowired
+    private EmailLookupCache emailCache;
+
+    @Autowired
+    private Repository repository;
+
+    @Value("${employee.cache.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${employee.cache.snapshot.path:employee-cache.snapshot}")
+    private Path path;
+
+    @Value("${employee.cache.snapshot.max-entries:10000}")
+    private int maxEntries;
+
+    @Override
+    public void run(ApplicationArguments args)
+    {
+        if (!enabled || !Files.isRegularFile(path)) {
+            return;
+        }
+        try {
+            int loaded = load();
+            log.info("employee.cache.snapshot loaded={} path={}", loaded, path);
+        }
+        catch (IOException | RuntimeException e) {
+            log.warn("employee.cache.snapshot ignored unreadable snapshot {}: {}", path, e.toString());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${employee.cache.snapshot.interval-ms:60000}",
+               initialDelayString = "${employee.cache.snapshot.interval-ms:60000}")
+    public void scheduledSave()
+    {
+        if (enabled) {
+            save();
+        }
+    }
+
+    @PreDestroy
+    public void saveOnShutdown()
+    {
+        if (enabled) {
+            save();
+        }
+    }
+
+    void save()
+    {
+        List<HotEntry> hottest = emailCache.hottest(maxEntries);
+        long now = System.currentTimeMillis();
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(hottest.size());
+                for (HotEntry entry : hottest) {
+                    out.writeLong(entry.employeeId());
+                    out.writeLong(now + entry.remainingMillis());
+                }
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e) {
+            log.warn("employee.cache.snapshot could not write {}: {}", path, e.toString());
+        }
+    }
+
+    int load() throws IOException
+    {
+        long[] ids;
+        long[] expiries;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("truncated snapshot");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("not an employee cache snapshot");
+            }
+            // entries are fixed size, so the count must match the file length exactly
+            int count = buffer.getInt();
+            if (count < 0 || (long) count * ENTRY_BYTES != buffer.remaining()) {
+                throw new IOException("snapshot count " + count + " does not match its length " + channel.size());
+            }
+            count = Math.min(count, maxEntries);
+            long now = System.currentTimeMillis();
+            ids = new long[count];
+            expiries = new long[count];
+            int live = 0;
+            for (int i = 0; i < count; i++) {
+                long id = buffer.getLong();
+                long expiry = buffer.getLong();
+                if (expiry > now) {
+                    ids[live] = id;
+                    expiries[live++] = expiry;
+                }
+            }
+            ids = Arrays.copyOf(ids, live);
+            expiries = Arrays.copyOf(expiries, live);
+        }
+
+        // taken before the rows are read: if any write commits meanwhile, restore skips the replay
+        // rather than risk putting back a row read before that write. The rows come from the primary
+        // like any other cache fill, a lagging replica would put back rows older than the generation.
+        long generation = emailCache.generation();
+        Map<Long, EmployeeEntity> rows = new HashMap<>();
+        for (int from = 0; from < ids.length; from += LOAD_CHUNK) {
+            List<Long> chunk = new ArrayList<>();
+            for (int i = from; i < Math.min(ids.length, from + LOAD_CHUNK); i++) {
+                chunk.add(ids[i]);
+            }
+            for (EmployeeEntity employee : ReplicaRoutingDataSource.readFromPrimary(() -> repository.findAllById(chunk))) {
+                rows.put(employee.getId(), employee);
+            }
+        }
+
+        // the file is hottest first, replay it backwards so the LRU order comes back as it was saved
+        long now = System.currentTimeMillis();
+        int loaded = 0;
+        for (int i = ids.length - 1; i >= 0; i--) {
+            EmployeeEntity employee = rows.get(ids[i]);
+            if (employee != null && emailCache.restore(employee, expiries[i] - now, generation)) {
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+}
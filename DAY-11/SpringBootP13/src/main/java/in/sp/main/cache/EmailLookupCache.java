@@ -0,0 +1,205 @@
+package in.sp.main.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import in.sp.main.entity.EmployeeEntity;
+
+// Read-through cache in front of Repository.findByEmail.
+// Entries expire after a fixed TTL and the least recently used entry is evicted once maxSize is reached.
+// Writers invalidate after their transaction commits; a load that overlapped an invalidation is
+// returned but not cached, so a reader can't put back the row a writer just replaced.
+@Component
+public class EmailLookupCache
+{
+    private final int maxSize;
+    private final long ttlNanos;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    // access-order LinkedHashMap gives us LRU ordering, guarded by its own monitor
+    private final LinkedHashMap<String, Entry> entries;
+    // cached email of each employee id, so an email change can evict the old key (guarded by entries)
+    private final Map<Long, String> emailById = new HashMap<>();
+    // bumped by every invalidation (guarded by entries)
+    private long generation;
+
+    public EmailLookupCache(@Value("${employee.cache.email.max-size:10000}") int maxSize,
+                            @Value("${employee.cache.email.ttl-ms:60000}") long ttlMillis)
+    {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > EmailLookupCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    emailById.remove(eldest.getValue().employee().getId(), eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Returns the cached employee or loads it with the given loader. Misses (null results) are not cached.
+    public EmployeeEntity get(String email, Function<String, EmployeeEntity> loader)
+    {
+        long now = System.nanoTime();
+        long loadGeneration;
+        synchronized (entries) {
+            Entry entry = entries.get(email);
+            if (entry != null) {
+                if (now - entry.loadedAt < ttlNanos) {
+                    hits.incrementAndGet();
+                    return entry.employee;
+                }
+                remove(email);
+                expirations.incrementAndGet();
+            }
+            loadGeneration = generation;
+        }
+
+        misses.incrementAndGet();
+        EmployeeEntity employee = loader.apply(email);
+        if (employee != null) {
+            synchronized (entries) {
+                if (loadGeneration == generation) {
+                    store(email, employee, System.nanoTime());
+                }
+            }
+        }
+        return employee;
+    }
+
+    // Puts back an entry replayed from a snapshot with the lifetime it had left. Skipped when an
+    // invalidation ran after loadGeneration, the row may have been read before that write committed.
+    public boolean restore(EmployeeEntity employee, long remainingMillis, long loadGeneration)
+    {
+        long remainingNanos = Math.min(ttlNanos, remainingMillis * 1_000_000L);
+        if (remainingNanos <= 0) {
+            return false;
+        }
+        synchronized (entries) {
+            if (loadGeneration != generation) {
+                return false;
+            }
+            store(employee.getEmail(), employee, System.nanoTime() - (ttlNanos - remainingNanos));
+            return true;
+        }
+    }
+
+    public long generation()
+    {
+        synchronized (entries) {
+            return generation;
+        }
+    }
+
+    // Evicts the email and whatever email is cached for the employee's id, in case the update changed it
+    public void invalidate(long id, String email)
+    {
+        synchronized (entries) {
+            generation++;
+            String previous = emailById.get(id);
+            if (previous != null) {
+                remove(previous);
+            }
+            if (email != null) {
+                remove(email);
+            }
+        }
+    }
+
+    // Invalidation for a write inside a transaction: done once it commits, so a concurrent reader
+    // can't reload and cache the row as it was before the commit. Immediate outside a transaction.
+    public void invalidateAfterCommit(long id, String email)
+    {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(id, email);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(id, email);
+            }
+        });
+    }
+
+    // Most recently used, still fresh entries first, at most limit of them
+    public List<HotEntry> hottest(int limit)
+    {
+        long now = System.nanoTime();
+        List<HotEntry> hottest = new ArrayList<>();
+        synchronized (entries) {
+            for (Entry entry : entries.values()) {
+                long age = now - entry.loadedAt;
+                if (age < ttlNanos) {
+                    hottest.add(new HotEntry(entry.employee.getId(), (ttlNanos - age) / 1_000_000));
+                }
+            }
+        }
+        Collections.reverse(hottest);     // access order iterates least recently used first
+        return hottest.size() > limit ? new ArrayList<>(hottest.subList(0, limit)) : hottest;
+    }
+
+    public void clear()
+    {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+            emailById.clear();
+        }
+    }
+
+    public CacheStats stats()
+    {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStats(size, maxSize, hits.get(), misses.get(), evictions.get(), expirations.get());
+    }
+
+    // callers hold the entries monitor
+    private void store(String email, EmployeeEntity employee, long loadedAt)
+    {
+        Entry previous = entries.put(email, new Entry(employee, loadedAt));
+        if (previous != null) {
+            emailById.remove(previous.employee().getId(), email);
+        }
+        String oldEmail = emailById.put(employee.getId(), email);
+        if (oldEmail != null && !oldEmail.equals(email)) {
+            entries.remove(oldEmail);       // same employee under its previous email, stale now
+        }
+    }
+
+    private void remove(String email)
+    {
+        Entry entry = entries.remove(email);
+        if (entry != null) {
+            emailById.remove(entry.employee().getId(), email);
+        }
+    }
+
+    private record Entry(EmployeeEntity employee, long loadedAt) {
+    }
+
+    public record HotEntry(long employeeId, long remainingMillis) {
+    }
+}
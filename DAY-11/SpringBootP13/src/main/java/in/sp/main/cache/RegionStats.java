@@ -0,0 +1,6 @@
+package in.sp.main.cache;
+
+// Counters of one Hibernate second-level cache region; evictions and size come from Ehcache itself
+public record RegionStats(String region, long hits, long misses, long puts, long evictions, long size)
+{
+}
@@ -0,0 +1,69 @@
+package in.sp.main.cache;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Reports hit/miss/put counters per region from Hibernate statistics, plus the eviction
+// count Ehcache publishes through its JSR-107 statistics MBean
+@Component
+public class SecondLevelCacheStats
+{
+    private static final String ENTITY_REGION = "employee";
+    private static final String QUERY_REGION = "employee-queries";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public List<RegionStats> regions()
+    {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return List.of(toRegionStats(ENTITY_REGION, () -> statistics.getDomainDataRegionStatistics(ENTITY_REGION)),
+                toRegionStats(QUERY_REGION, () -> statistics.getQueryRegionStatistics(QUERY_REGION)));
+    }
+
+    private static RegionStats toRegionStats(String region, Supplier<CacheRegionStatistics> lookup)
+    {
+        CacheRegionStatistics stats;
+        try {
+            stats = lookup.get();
+        }
+        catch (IllegalArgumentException e) {
+            stats = null;    // region not created yet
+        }
+        if (stats == null) {
+            return new RegionStats(region, 0, 0, 0, evictions(region), 0);
+        }
+        return new RegionStats(region, stats.getHitCount(), stats.getMissCount(), stats.getPutCount(),
+                evictions(region), stats.getElementCountInMemory());
+    }
+
+    private static long evictions(String region)
+    {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            Set<ObjectName> names = server.queryNames(
+                    new ObjectName("javax.cache:type=CacheStatistics,Cache=" + region + ",*"), null);
+            long evictions = 0;
+            for (ObjectName name : names) {
+                evictions += (Long) server.getAttribute(name, "CacheEvictions");
+            }
+            return evictions;
+        }
+        catch (Exception e) {
+            return -1;       // statistics MBean not registered
+        }
+    }
+}
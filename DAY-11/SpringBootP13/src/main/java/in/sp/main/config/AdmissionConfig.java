@@ -0,0 +1,39 @@
+package in.sp.main.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Token-bucket admission for the employee API, on with employee.admission.enabled=true
+@Configuration
+@ConditionalOnProperty(name = "employee.admission.enabled", havingValue = "true")
+public class AdmissionConfig
+{
+    @Bean
+    public FilterRegistrationBean<AdmissionFilter> admissionFilter(
+            @Value("${employee.admission.read.capacity:2000}") long readCapacity,
+            @Value("${employee.admission.read.refill-per-second:1000}") double readRefill,
+            @Value("${employee.admission.heavy.capacity:20}") long heavyCapacity,
+            @Value("${employee.admission.heavy.refill-per-second:5}") double heavyRefill,
+            @Value("${employee.admission.write.capacity:200}") long writeCapacity,
+            @Value("${employee.admission.write.refill-per-second:100}") double writeRefill,
+            @Value("${employee.admission.bulk.bytes-per-row:200}") long bulkBytesPerRow,
+            @Value("${employee.admission.read.max-wait-ms:50}") long readMaxWaitMillis,
+            MeterRegistry registry)
+    {
+        AdmissionFilter filter = new AdmissionFilter(
+                new TokenBucket(readCapacity, readRefill, System::nanoTime),
+                new TokenBucket(heavyCapacity, heavyRefill, System::nanoTime),
+                new TokenBucket(writeCapacity, writeRefill, System::nanoTime),
+                bulkBytesPerRow, readMaxWaitMillis, registry);
+        FilterRegistrationBean<AdmissionFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/employees", "/employees/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);   // before any work is done for the request
+        return registration;
+    }
+}
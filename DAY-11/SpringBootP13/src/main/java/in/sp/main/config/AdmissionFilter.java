@@ -0,0 +1,168 @@
+package in.sp.main.config;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Admission control for /employees/*, ahead of Tomcat handing the request to Spring MVC and Hikari.
+// Requests draw from the bucket of their cost class, so a storm in one class runs out of its own budget
+// instead of the connection pool the others need:
+//   read  - point reads and pages (GET/HEAD)
+//   heavy - exports, the change stream, stats and analytics, which hold a connection or a worker for long
+//   write - everything else; POST /employees/bulk costs one token per estimated row
+// Reads have priority: a read that finds its bucket short waits up to readMaxWaitNanos for a token, and
+// while any read is waiting, heavy and write requests are shed even if their own bucket has tokens, so
+// they stop competing for the pool. Heavy and write requests never wait. A refusal is 429 with Retry-After.
+public class AdmissionFilter extends OncePerRequestFilter
+{
+    private static final List<String> HEAVY_READS = List.of(
+            "/employees/changes",
+            "/employees/stats",
+            "/employees/analytics/**",
+            "/employees/department/*/stream",
+            "/employees/department/*/bonuses");
+    private static final String BULK = "/employees/bulk";
+
+    private final AntPathMatcher paths = new AntPathMatcher();
+    private final Lane read;
+    private final Lane heavy;
+    private final Lane write;
+    private final long bulkBytesPerRow;
+    private final long readMaxWaitNanos;
+    private final AtomicInteger readsWaiting = new AtomicInteger();
+    private final Counter readDelayed;
+
+    public AdmissionFilter(TokenBucket readBucket, TokenBucket heavyBucket, TokenBucket writeBucket,
+                           long bulkBytesPerRow, long readMaxWaitMillis, MeterRegistry registry)
+    {
+        this.read = new Lane("read", readBucket, registry);
+        this.heavy = new Lane("heavy", heavyBucket, registry);
+        this.write = new Lane("write", writeBucket, registry);
+        this.bulkBytesPerRow = Math.max(1, bulkBytesPerRow);
+        this.readMaxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, readMaxWaitMillis));
+        this.readDelayed = Lane.counter(registry, "read", "delayed");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException
+    {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        long waitNanos;
+        if (isRead(request) && !isHeavy(path)) {
+            waitNanos = admitRead();
+        }
+        else if (isRead(request)) {
+            waitNanos = heavy.admitUnlessReadsWait(readsWaiting, 1);
+        }
+        else {
+            waitNanos = write.admitUnlessReadsWait(readsWaiting, BULK.equals(path) ? bulkRows(request) : 1);
+        }
+        if (waitNanos > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999))));
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    // 0 once admitted, otherwise how long until the read bucket has a token again
+    private long admitRead()
+    {
+        long wait = read.bucket.tryAcquire();
+        if (wait == 0) {
+            read.admitted.increment();
+            return 0;
+        }
+        long deadline = System.nanoTime() + readMaxWaitNanos;
+        readsWaiting.incrementAndGet();
+        try {
+            while (System.nanoTime() + wait <= deadline) {
+                LockSupport.parkNanos(wait);
+                wait = read.bucket.tryAcquire();
+                if (wait == 0) {
+                    readDelayed.increment();
+                    return 0;
+                }
+            }
+        }
+        finally {
+            readsWaiting.decrementAndGet();
+        }
+        read.rejected.increment();
+        return wait;
+    }
+
+    // The body is streamed, so the row count is estimated from its length. Without a length (chunked
+    // upload) the size is unknown and the request is charged as the largest possible one.
+    private long bulkRows(HttpServletRequest request)
+    {
+        long length = request.getContentLengthLong();
+        return length < 0 ? Long.MAX_VALUE : Math.max(1, length / bulkBytesPerRow);
+    }
+
+    private boolean isHeavy(String path)
+    {
+        for (String pattern : HEAVY_READS) {
+            if (paths.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isRead(HttpServletRequest request)
+    {
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method);
+    }
+
+    private static final class Lane
+    {
+        final TokenBucket bucket;
+        final Counter admitted;
+        final Counter rejected;
+
+        Lane(String name, TokenBucket bucket, MeterRegistry registry) {
+            this.bucket = bucket;
+            this.admitted = counter(registry, name, "admitted");
+            this.rejected = counter(registry, name, "rejected");
+            Gauge.builder("employee.admission.tokens", bucket, TokenBucket::available)
+                    .description("Tokens left in the admission bucket")
+                    .tag("bucket", name)
+                    .register(registry);
+        }
+
+        // 0 once admitted, otherwise how long until the bucket has enough tokens again. While a read is
+        // waiting for a token the request is shed and retried a second later.
+        long admitUnlessReadsWait(AtomicInteger readsWaiting, long cost) {
+            long wait = readsWaiting.get() > 0 ? TimeUnit.SECONDS.toNanos(1) : bucket.tryAcquire(cost);
+            (wait == 0 ? admitted : rejected).increment();
+            return wait;
+        }
+
+        static Counter counter(MeterRegistry registry, String bucket, String outcome) {
+            return Counter.builder("employee.admission.requests")
+                    .description("Requests by admission bucket and outcome")
+                    .tag("bucket", bucket)
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+    }
+}
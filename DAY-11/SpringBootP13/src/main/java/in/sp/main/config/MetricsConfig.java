@@ -0,0 +1,33 @@
+package in.sp.main.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer
+{
+    private final MeterRegistry registry;
+
+    public MetricsConfig(MeterRegistry registry)
+    {
+        this.registry = registry;
+    }
+
+    // Makes @Timed work on Spring beans such as Imp_EmployeeService
+    @Bean
+    public TimedAspect timedAspect()
+    {
+        return new TimedAspect(registry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors)
+    {
+        interceptors.addInterceptor(new QueryCountInterceptor(registry));
+    }
+}
@@ -0,0 +1,27 @@
+package in.sp.main.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Hibernate hook that counts the SQL statements prepared on the current thread.
+// Registered through hibernate.session_factory.statement_inspector, so Hibernate instantiates it itself.
+public class QueryCountInspector implements StatementInspector
+{
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql)
+    {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public static void reset()
+    {
+        COUNT.get()[0] = 0;
+    }
+
+    public static int current()
+    {
+        return COUNT.get()[0];
+    }
+}
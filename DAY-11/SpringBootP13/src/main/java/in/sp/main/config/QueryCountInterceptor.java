@@ -0,0 +1,39 @@
+package in.sp.main.config;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Records how many SQL statements each request issued, tagged by its URI pattern
+public class QueryCountInterceptor implements HandlerInterceptor
+{
+    private final MeterRegistry registry;
+
+    public QueryCountInterceptor(MeterRegistry registry)
+    {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+    {
+        QueryCountInspector.reset();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex)
+    {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("employee.jpa.queries")
+                .description("SQL statements per HTTP request")
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry)
+                .record(QueryCountInspector.current());
+    }
+}
@@ -0,0 +1,130 @@
+package in.sp.main.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Round-robin over the replicas that passed the last health check.
+// A replica is healthy when it hands out a valid connection and, with checkLag, reports a
+// Seconds_Behind_Source within maxLagSeconds. next() returns null when none is healthy.
+public class ReplicaPool implements AutoCloseable
+{
+    private static final Logger log = LoggerFactory.getLogger(ReplicaPool.class);
+
+    private final List<DataSource> replicas;
+    private volatile boolean[] healthy;        // replaced as a whole, never mutated in place
+    private final boolean checkLag;
+    private final int maxLagSeconds;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaPool(List<DataSource> replicas, boolean checkLag, int maxLagSeconds)
+    {
+        this.replicas = replicas;
+        this.healthy = new boolean[replicas.size()];   // unhealthy until the first check passes
+        this.checkLag = checkLag;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    // Checks in the background, the first time right away. Startup doesn't wait for it: an unreachable
+    // replica would otherwise hold up the context for the connection timeout, and until the check
+    // passes reads simply go to the primary.
+    public void start(long intervalMillis)
+    {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::checkHealth, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public DataSource next()
+    {
+        boolean[] healthy = this.healthy;
+        int size = replicas.size();
+        int start = Math.floorMod(cursor.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            int index = (start + i) % size;
+            if (healthy[index]) {
+                return replicas.get(index);
+            }
+        }
+        return null;
+    }
+
+    // Called when a replica fails to give out a connection between two health checks
+    public synchronized void markDown(DataSource replica)
+    {
+        int index = replicas.indexOf(replica);
+        if (index >= 0 && healthy[index]) {
+            boolean[] next = healthy.clone();
+            next[index] = false;
+            healthy = next;
+            log.info("employee.replica index={} healthy=false reason=connection-failure", index);
+        }
+    }
+
+    public void checkHealth()
+    {
+        boolean[] next = new boolean[replicas.size()];
+        for (int i = 0; i < next.length; i++) {
+            next[i] = isHealthy(replicas.get(i));
+        }
+        synchronized (this) {
+            for (int i = 0; i < next.length; i++) {
+                if (next[i] != healthy[i]) {
+                    log.info("employee.replica index={} healthy={}", i, next[i]);
+                }
+            }
+            healthy = next;
+        }
+    }
+
+    private boolean isHealthy(DataSource replica)
+    {
+        try (Connection connection = replica.getConnection()) {
+            if (!connection.isValid(2)) {
+                return false;
+            }
+            if (!checkLag) {
+                return true;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+                if (!rs.next()) {
+                    return false;                        // not replicating at all
+                }
+                long lag = rs.getLong("Seconds_Behind_Source");
+                return !rs.wasNull() && lag <= maxLagSeconds;  // NULL lag means the SQL thread is stopped
+            }
+        }
+        catch (SQLException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void close() throws Exception
+    {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package in.sp.main.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// employee.datasource.replicas.* : read replicas used for readOnly transactions
+@ConfigurationProperties("employee.datasource.replicas")
+public class ReplicaProperties
+{
+    private boolean enabled;
+    private List<Node> nodes = new ArrayList<>();
+    private long healthCheckIntervalMs = 5000;
+    private boolean checkLag = true;
+    private int maxLagSeconds = 5;
+    private int maximumPoolSize = 20;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    public List<Node> getNodes() {
+        return nodes;
+    }
+    public void setNodes(List<Node> nodes) {
+        this.nodes = nodes;
+    }
+    public long getHealthCheckIntervalMs() {
+        return healthCheckIntervalMs;
+    }
+    public void setHealthCheckIntervalMs(long healthCheckIntervalMs) {
+        this.healthCheckIntervalMs = healthCheckIntervalMs;
+    }
+    public boolean isCheckLag() {
+        return checkLag;
+    }
+    public void setCheckLag(boolean checkLag) {
+        this.checkLag = checkLag;
+    }
+    public int getMaxLagSeconds() {
+        return maxLagSeconds;
+    }
+    public void setMaxLagSeconds(int maxLagSeconds) {
+        this.maxLagSeconds = maxLagSeconds;
+    }
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        this.maximumPoolSize = maximumPoolSize;
+    }
+
+    public static class Node
+    {
+        private String url;
+        private String username;
+        private String password;
+
+        public String getUrl() {
+            return url;
+        }
+        public void setUrl(String url) {
+            this.url = url;
+        }
+        public String getUsername() {
+            return username;
+        }
+        public void setUsername(String username) {
+            this.username = username;
+        }
+        public String getPassword() {
+            return password;
+        }
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
+}
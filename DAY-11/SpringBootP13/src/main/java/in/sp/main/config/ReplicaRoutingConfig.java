@@ -0,0 +1,76 @@
+package in.sp.main.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Read/write splitting, enabled with employee.datasource.replicas.enabled=true.
+// The application DataSource is a LazyConnectionDataSourceProxy: the real connection is only fetched at
+// the first statement, after the transaction manager has marked it read-only, so @Transactional(readOnly = true)
+// methods (stats, pages, ...) go to a replica and everything else to the primary.
+// Email cache fills, the warm-start replay and the query-cached lookups opt out with
+// ReplicaRoutingDataSource.readFromPrimary.
+@Configuration
+@ConditionalOnProperty(name = "employee.datasource.replicas.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaRoutingConfig
+{
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties)
+    {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    // The replica pools aren't beans, so Boot's Hikari metrics don't see them; each registers its own
+    // hikaricp.connections.* meters tagged pool=replica-N
+    @Bean(destroyMethod = "close")
+    public ReplicaPool replicaPool(ReplicaProperties properties, DataSourceProperties primary,
+                                   ObjectProvider<MeterRegistry> meterRegistry)
+    {
+        List<DataSource> replicas = new ArrayList<>();
+        for (ReplicaProperties.Node node : properties.getNodes()) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setJdbcUrl(node.getUrl());
+            replica.setUsername(node.getUsername() != null ? node.getUsername() : primary.getUsername());
+            replica.setPassword(node.getPassword() != null ? node.getPassword() : primary.getPassword());
+            replica.setMaximumPoolSize(properties.getMaximumPoolSize());
+            replica.setReadOnly(true);
+            meterRegistry.ifAvailable(replica::setMetricRegistry);
+            replicas.add(replica);
+        }
+        ReplicaPool pool = new ReplicaPool(replicas, properties.isCheckLag(), properties.getMaxLagSeconds());
+        pool.start(properties.getHealthCheckIntervalMs());
+        return pool;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaPool replicaPool)
+    {
+        return routingDataSource(primaryDataSource, replicaPool);
+    }
+
+    static DataSource routingDataSource(DataSource primary, ReplicaPool replicas)
+    {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(new ReplicaRoutingDataSource(replicas, primary));
+        return proxy;
+    }
+}
@@ -0,0 +1,65 @@
+package in.sp.main.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+// Read-only side of the routing: a healthy replica if there is one, otherwise the primary
+public class ReplicaRoutingDataSource extends AbstractDataSource
+{
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private final ReplicaPool replicas;
+    private final DataSource primary;
+
+    public ReplicaRoutingDataSource(ReplicaPool replicas, DataSource primary)
+    {
+        this.replicas = replicas;
+        this.primary = primary;
+    }
+
+    // Runs read-only work against the primary even with healthy replicas. For reads whose result is kept,
+    // such as cache fills: a replica that hasn't applied the write that just caused the miss would get
+    // its old row cached for a whole TTL.
+    public static <T> T readFromPrimary(Supplier<T> work)
+    {
+        Boolean previous = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        }
+        finally {
+            if (previous == null) {
+                PRIMARY_ONLY.remove();
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException
+    {
+        if (PRIMARY_ONLY.get() != null) {
+            return primary.getConnection();
+        }
+        DataSource replica = replicas.next();
+        if (replica != null) {
+            try {
+                return replica.getConnection();
+            }
+            catch (SQLException e) {
+                replicas.markDown(replica);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException
+    {
+        return getConnection();
+    }
+}
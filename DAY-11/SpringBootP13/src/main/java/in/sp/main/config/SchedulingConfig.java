@@ -0,0 +1,14 @@
+package in.sp.main.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Background jobs (change relay, cache snapshot). employee.scheduling.enabled=false turns them all off,
+// e.g. for benchmarks that shouldn't measure them running alongside.
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "employee.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig
+{
+}
@@ -0,0 +1,66 @@
+package in.sp.main.config;
+
+import java.util.function.LongSupplier;
+
+// Classic token bucket: holds up to capacity tokens and refills continuously at refillPerSecond.
+// The clock is injectable (System::nanoTime in production) so the refill math is testable.
+public class TokenBucket
+{
+    private final long capacity;
+    private final double tokensPerNano;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private long refilledAt;
+
+    public TokenBucket(long capacity, double refillPerSecond, LongSupplier nanoClock)
+    {
+        if (capacity < 1 || !(refillPerSecond > 0)) {
+            throw new IllegalArgumentException("capacity and refill rate must be positive");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerSecond / 1_000_000_000d;
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;                   // start full so a cold start isn't throttled
+        this.refilledAt = nanoClock.getAsLong();
+    }
+
+    // Takes one token and returns 0, or takes nothing and returns the nanos until one is available
+    public long tryAcquire()
+    {
+        return tryAcquire(1);
+    }
+
+    // Same for a request that costs several tokens. A cost above capacity is charged as the whole
+    // bucket, otherwise it could never be admitted.
+    public synchronized long tryAcquire(long permits)
+    {
+        double cost = Math.min(Math.max(permits, 1), capacity);
+        refill();
+        if (tokens >= cost) {
+            tokens -= cost;
+            return 0;
+        }
+        return (long) Math.ceil((cost - tokens) / tokensPerNano);
+    }
+
+    public synchronized double available()
+    {
+        refill();
+        return tokens;
+    }
+
+    public long capacity()
+    {
+        return capacity;
+    }
+
+    private void refill()
+    {
+        long now = nanoClock.getAsLong();
+        if (now > refilledAt) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+        }
+    }
+}
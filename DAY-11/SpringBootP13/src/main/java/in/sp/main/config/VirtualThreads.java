@@ -0,0 +1,38 @@
+package in.sp.main.config;
+
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+// The build targets Java 17, virtual threads need a Java 21 runtime. Thread.ofVirtual() is looked up
+// reflectively, so on 21+ the factory makes virtual threads and on 17 plain daemon threads.
+public final class VirtualThreads
+{
+    private VirtualThreads() {}
+
+    public static ThreadFactory factory(String namePrefix)
+    {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        }
+        catch (ReflectiveOperationException e) {
+            CustomizableThreadFactory platform = new CustomizableThreadFactory(namePrefix);
+            platform.setDaemon(true);
+            return platform;
+        }
+    }
+
+    public static boolean available()
+    {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        }
+        catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
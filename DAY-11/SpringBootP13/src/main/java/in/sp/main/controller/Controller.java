@@ -1,38 +1,178 @@
 package in.sp.main.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 
+import in.sp.main.cache.CacheStats;
+import in.sp.main.cache.EmailLookupCache;
+import in.sp.main.cache.RegionStats;
+import in.sp.main.cache.SecondLevelCacheStats;
+import in.sp.main.dto.BulkInsertResult;
+import in.sp.main.dto.DepartmentBonusReport;
+import in.sp.main.dto.DepartmentSalaryStats;
+import in.sp.main.dto.EmployeePage;
+import in.sp.main.dto.EmployeeSummary;
+import in.sp.main.dto.HeadcountReport;
+import in.sp.main.dto.UpsertResult;
+import in.sp.main.dto.WriteTicketStatus;
 import in.sp.main.entity.EmployeeEntity;
+import in.sp.main.service.EmployeeChangeRelay;
 import in.sp.main.service.EmployeeService;
+import in.sp.main.service.EmployeeWriteBehindQueue;
+import in.sp.main.service.Granularity;
 
 @RestController
 @RequestMapping("/employees")
 public class Controller 
 {
+    private static final Logger log = LoggerFactory.getLogger(Controller.class);
 
     @Autowired
     private EmployeeService employeeService;
 
+    @Autowired
+    private EmailLookupCache emailCache;
+
+    @Autowired
+    private SecondLevelCacheStats secondLevelCacheStats;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeWriteBehindQueue writeBehindQueue;
+
+    @Autowired
+    private EmployeeChangeRelay changeRelay;
+
+    // Keyset-paginated listing ordered by department then id
+    @GetMapping
+    public EmployeePage getEmployees(@RequestParam(required = false) String cursor,
+                                     @RequestParam(defaultValue = "50") int size)
+    {
+        return employeeService.findPage(cursor, Math.max(1, Math.min(size, 1000)));
+    }
+
+    // Salary count/sum/avg/min/max and approximate percentiles per department
+    @GetMapping("/stats")
+    public List<DepartmentSalaryStats> getSalaryStats(@RequestParam(defaultValue = "${employee.stats.bucket-width:10000}") double bucketWidth)
+    {
+        return employeeService.salaryStatsByDepartment(bucketWidth);
+    }
+
+    // Headcount, joiners, leavers and attrition per department and period, plus tenure distribution
+    @GetMapping("/analytics/headcount")
+    public HeadcountReport getHeadcount(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                        @RequestParam(defaultValue = "MONTH") String granularity)
+    {
+        Granularity period;
+        try {
+            period = Granularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+        }
+        catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "granularity must be one of DAY, WEEK, MONTH, QUARTER, YEAR");
+        }
+        return employeeService.headcount(from, to, period);
+    }
+
+    // Prefix search, e.g. /employees/search?q=jo sm matches "John Smith"
+    @GetMapping("/search")
+    public List<EmployeeSummary> searchEmployees(@RequestParam String q, @RequestParam(defaultValue = "20") int limit)
+    {
+        return employeeService.search(q, Math.max(1, Math.min(limit, 200)));
+    }
+
     @GetMapping("/{id}/bonus")
     public double getBonus(@PathVariable long id) {
         return employeeService.calculateBonus(id);
     }
 
+    @GetMapping("/department/{dept}/bonuses")
+    public DepartmentBonusReport getDepartmentBonuses(@PathVariable String dept) {
+        return employeeService.calculateDepartmentBonuses(dept);
+    }
+
     @PostMapping("/emp")
-    public ResponseEntity<EmployeeEntity> createEmployee(@RequestBody EmployeeEntity employee) 
+    public ResponseEntity<?> createEmployee(@RequestBody EmployeeEntity employee) 
     {
+        if (writeBehindQueue.isEnabled()) {
+            // write-behind mode: accept now, the drainer saves it in a batch later
+            WriteTicketStatus ticket = writeBehindQueue.submit(employee);
+            if (ticket == null) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+            }
+            return ResponseEntity.accepted()
+                    .header(HttpHeaders.LOCATION, "/employees/emp/status/" + ticket.ticket())
+                    .body(ticket);
+        }
         EmployeeEntity savedEmployee = employeeService.addEmployee(employee);
         return new ResponseEntity<>(savedEmployee, HttpStatus.CREATED);
     }
 
+    // Idempotent create-or-update keyed by email, safe to retry.
+    // With If-Match: <version> (as returned by GET /email/{email}) it only updates that version, else 409.
+    @PutMapping("/email/{email}")
+    public ResponseEntity<UpsertResult> upsertEmployee(@PathVariable String email, @RequestBody EmployeeEntity employee,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+    {
+        employee.setEmail(email);
+        UpsertResult result = employeeService.upsertByEmail(employee, parseVersion(ifMatch));
+        HttpStatus status = result.outcome() == UpsertResult.Outcome.CREATED ? HttpStatus.CREATED : HttpStatus.OK;
+        return new ResponseEntity<>(result, status);
+    }
+
+    // Poll the outcome of a write-behind submission
+    @GetMapping("/emp/status/{ticket}")
+    public ResponseEntity<WriteTicketStatus> getWriteStatus(@PathVariable String ticket)
+    {
+        WriteTicketStatus status = writeBehindQueue.status(ticket);
+        return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+    }
+
+    // Bulk insert from a JSON array or an NDJSON stream; the body is read incrementally, never as a whole list
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<BulkInsertResult> createEmployees(InputStream body) throws IOException
+    {
+        try (MappingIterator<EmployeeEntity> employees = objectMapper.readerFor(EmployeeEntity.class).readValues(body)) {
+            BulkInsertResult result = employeeService.addEmployees(employees);
+            // a bad row or a refused chunk stops the import: 400, with what was saved before it in the body
+            return new ResponseEntity<>(result, result.error() == null ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST);
+        }
+    }
+
     // Fetch employee by email using JPQL
     @GetMapping("/email/{email}")
     public ResponseEntity<EmployeeEntity> getEmployeeByEmail(@PathVariable String email) 
@@ -40,4 +180,104 @@ public class Controller
         EmployeeEntity employee = employeeService.findByEmail(email);
         return ResponseEntity.ok(employee);
     }
+
+    // Lightweight lookups returning only id, name and department
+    @GetMapping("/email/{email}/summary")
+    public ResponseEntity<EmployeeSummary> getEmployeeSummaryByEmail(@PathVariable String email)
+    {
+        return ResponseEntity.ok(employeeService.findSummaryByEmail(email));
+    }
+
+    @GetMapping("/department/{dept}/summary")
+    public List<EmployeeSummary> getEmployeeSummariesByDepartment(@PathVariable String dept)
+    {
+        return employeeService.findSummariesByDepartment(dept);
+    }
+
+    // Export a department as NDJSON, written row by row while the query cursor is read
+    @GetMapping(value = "/department/{dept}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployeesByDepartment(@PathVariable String dept)
+    {
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter writer = objectMapper.writerFor(EmployeeEntity.class)
+                    .withRootValueSeparator("\n")
+                    .writeValues(out)) {
+                employeeService.exportByDepartment(dept, employee -> {
+                    try {
+                        writer.write(employee);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // Server-Sent Events of employee changes after the given offset; a reconnecting client's
+    // Last-Event-ID header wins over the since parameter
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(defaultValue = "0") long since,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId)
+    {
+        long offset = since;
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                offset = Long.parseLong(lastEventId.trim());
+            }
+            catch (NumberFormatException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid Last-Event-ID");
+            }
+        }
+        return changeRelay.subscribe(Math.max(0, offset));
+    }
+
+    // Hit/miss/eviction counters of the email lookup cache
+    @GetMapping("/cache/stats")
+    public CacheStats getEmailCacheStats()
+    {
+        return emailCache.stats();
+    }
+
+    // Hibernate second-level cache regions: hits, misses, puts, evictions, size
+    @GetMapping("/cache/second-level")
+    public List<RegionStats> getSecondLevelCacheStats()
+    {
+        return secondLevelCacheStats.regions();
+    }
+
+    // Accepts 3, "3" and W/"3"
+    private static Long parseVersion(String ifMatch)
+    {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        value = value.replace("\"", "");
+        try {
+            return Long.parseLong(value);
+        }
+        catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "If-Match must be an employee version");
+        }
+    }
+
+    // Stale version on update or an email that already exists. The driver's message names tables,
+    // constraints and values, so it is only logged and the client gets a fixed one.
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleStaleVersion(OptimisticLockingFailureException e)
+    {
+        log.debug("employee write conflict: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Employee was changed by someone else, reload it and retry");
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<String> handleConflict(DataIntegrityViolationException e)
+    {
+        log.debug("employee write conflict: {}", e.getMostSpecificCause().getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Employee conflicts with an existing one, e.g. its email is taken");
+    }
 }
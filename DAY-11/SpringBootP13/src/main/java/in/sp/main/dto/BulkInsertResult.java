@@ -0,0 +1,10 @@
+package in.sp.main.dto;
+
+import java.util.List;
+
+// Response of POST /employees/bulk. When the body couldn't be read to the end, or the database refused a
+// chunk, inserted counts the rows saved before that point, error says why and failedAtLine (if known) is
+// the line of the body reading stopped at.
+public record BulkInsertResult(int inserted, long totalMillis, List<ChunkTiming> chunks, Long failedAtLine, String error)
+{
+}
@@ -0,0 +1,6 @@
+package in.sp.main.dto;
+
+// Time spent persisting (and committing) one chunk of a bulk insert
+public record ChunkTiming(int chunk, int rows, long millis)
+{
+}
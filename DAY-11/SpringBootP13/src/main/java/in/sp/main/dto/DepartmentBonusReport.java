@@ -0,0 +1,6 @@
+package in.sp.main.dto;
+
+// Response of GET /employees/department/{dept}/bonuses, bonuses[i] belongs to employeeIds[i]
+public record DepartmentBonusReport(String department, int employees, double totalBonus, long[] employeeIds, double[] bonuses)
+{
+}
@@ -0,0 +1,8 @@
+package in.sp.main.dto;
+
+// Time series of one department, index k of every array is period k of the report.
+// headcount is taken on the last day of the period, attritionRate = leavers / average headcount of the period.
+public record DepartmentHeadcount(String department, int[] headcount, int[] joiners, int[] leavers,
+                                  double[] attritionRate, int[] tenureHistogram)
+{
+}
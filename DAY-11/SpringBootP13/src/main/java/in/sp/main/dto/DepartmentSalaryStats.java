@@ -0,0 +1,7 @@
+package in.sp.main.dto;
+
+// Salary aggregates of one department, percentiles are approximated from fixed-width salary buckets
+public record DepartmentSalaryStats(String department, long count, double sum, double avg, double min, double max,
+                                    double p50, double p90, double p99)
+{
+}
@@ -0,0 +1,17 @@
+package in.sp.main.dto;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import in.sp.main.entity.EmployeeChangeEvent;
+
+// One change as sent on GET /employees/changes, payload is the employee JSON at the time of the change
+public record EmployeeChange(long sequence, long employeeId, String email, String type, Instant occurredAt,
+                             @JsonRawValue String payload)
+{
+    public static EmployeeChange of(EmployeeChangeEvent event) {
+        return new EmployeeChange(event.getSequenceNo(), event.getEmployeeId(), event.getEmail(), event.getType(),
+                event.getOccurredAt(), event.getPayload());
+    }
+}
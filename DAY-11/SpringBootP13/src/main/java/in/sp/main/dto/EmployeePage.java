@@ -0,0 +1,10 @@
+package in.sp.main.dto;
+
+import java.util.List;
+
+import in.sp.main.entity.EmployeeEntity;
+
+// One keyset page of GET /employees, pass nextCursor back to get the following page (null on the last page)
+public record EmployeePage(List<EmployeeEntity> content, String nextCursor)
+{
+}
@@ -0,0 +1,6 @@
+package in.sp.main.dto;
+
+// Read-only projection for callers that only need who the employee is and where they work
+public record EmployeeSummary(long id, String name, String department)
+{
+}
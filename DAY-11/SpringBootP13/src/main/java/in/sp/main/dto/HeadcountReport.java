@@ -0,0 +1,11 @@
+package in.sp.main.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Response of GET /employees/analytics/headcount. tenureHistogram counts of each department follow
+// tenureBuckets and cover the employees still active on the "to" date.
+public record HeadcountReport(LocalDate from, LocalDate to, String granularity, List<LocalDate> periodStarts,
+                              List<String> tenureBuckets, List<DepartmentHeadcount> departments)
+{
+}
@@ -0,0 +1,7 @@
+package in.sp.main.dto;
+
+// Outcome of PUT /employees/email/{email}, id is the created or existing employee
+public record UpsertResult(Long id, String email, Outcome outcome)
+{
+    public enum Outcome { CREATED, UPDATED, UNCHANGED }
+}
@@ -0,0 +1,7 @@
+package in.sp.main.dto;
+
+// Progress of an employee accepted by the write-behind queue, employeeId is set once it is saved
+public record WriteTicketStatus(String ticket, State state, Long employeeId, String error)
+{
+    public enum State { QUEUED, SAVED, FAILED }
+}
@@ -0,0 +1,84 @@
+package in.sp.main.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+// Transactional outbox row, written in the same transaction as the employee change it describes.
+// sequenceNo is assigned afterwards by the single relay in commit order and is the offset consumers resume from.
+@Entity
+@Table(name="employee_outbox", indexes = {
+		@Index(name = "ux_outbox_sequence_no", columnList = "sequenceNo", unique = true)
+})
+public class EmployeeChangeEvent 
+{
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_outbox_seq")
+	@SequenceGenerator(name = "employee_outbox_seq", sequenceName = "employee_outbox_seq", allocationSize = 50)
+	@Column
+	private long id;
+	@Column
+	private Long sequenceNo;
+	@Column
+	private long employeeId;
+	@Column
+	private String email;
+	@Column
+	private String type;
+	@Column
+	private Instant occurredAt;
+	@Column(columnDefinition = "TEXT")
+	private String payload;
+	
+	public EmployeeChangeEvent() 
+	{
+		
+	}
+	
+	public EmployeeChangeEvent(long employeeId, String email, String type, Instant occurredAt, String payload) {
+		super();
+		this.employeeId = employeeId;
+		this.email = email;
+		this.type = type;
+		this.occurredAt = occurredAt;
+		this.payload = payload;
+	}
+
+	public long getId() {
+		return id;
+	}
+	public Long getSequenceNo() {
+		return sequenceNo;
+	}
+	public void setSequenceNo(Long sequenceNo) {
+		this.sequenceNo = sequenceNo;
+	}
+	public long getEmployeeId() {
+		return employeeId;
+	}
+	public String getEmail() {
+		return email;
+	}
+	public String getType() {
+		return type;
+	}
+	public Instant getOccurredAt() {
+		return occurredAt;
+	}
+	public String getPayload() {
+		return payload;
+	}
+
+	@Override
+	public String toString() {
+		return "EmployeeChangeEvent [id=" + id + ", sequenceNo=" + sequenceNo + ", employeeId=" + employeeId
+				+ ", type=" + type + ", occurredAt=" + occurredAt + "]";
+	}
+}
@@ -2,19 +2,33 @@ package in.sp.main.entity;
 
 import java.time.LocalDate;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
-@Table(name="employee_table")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employee")
+@Table(name="employee_table", indexes = {
+		@Index(name = "ux_employee_email", columnList = "email", unique = true),
+		@Index(name = "ix_employee_department_id", columnList = "department, id")
+})
 public class EmployeeEntity 
 {
 	@Id
-	@GeneratedValue(strategy = GenerationType.AUTO)
+	// pooled sequence (table-backed on MySQL) keeps JDBC insert batching effective, unlike IDENTITY
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+	@SequenceGenerator(name = "employee_seq", sequenceName = "employee_table_seq", allocationSize = 50)
 	@Column
 	private long id;   
 	@Column
@@ -30,6 +44,10 @@ public class EmployeeEntity
 	private LocalDate joiningDate;
 	@Column
     private LocalDate resignationDate;
+	// optimistic locking: an update based on a stale read fails instead of silently overwriting
+	@Version
+	@Column
+	private long version;
 	
 	public EmployeeEntity() 
 	{
@@ -48,6 +66,55 @@ public class EmployeeEntity
 		this.resignationDate = resignationDate;
 	}
 
+	public long getId() {
+		return id;
+	}
+	public void setId(long id) {
+		this.id = id;
+	}
+	public String getName() {
+		return name;
+	}
+	public void setName(String name) {
+		this.name = name;
+	}
+	public String getEmail() {
+		return email;
+	}
+	public void setEmail(String email) {
+		this.email = email;
+	}
+	public double getSalary() {
+		return salary;
+	}
+	public void setSalary(double salary) {
+		this.salary = salary;
+	}
+	public String getDepartment() {
+		return department;
+	}
+	public void setDepartment(String department) {
+		this.department = department;
+	}
+	public LocalDate getJoiningDate() {
+		return joiningDate;
+	}
+	public void setJoiningDate(LocalDate joiningDate) {
+		this.joiningDate = joiningDate;
+	}
+	public LocalDate getResignationDate() {
+		return resignationDate;
+	}
+	public void setResignationDate(LocalDate resignationDate) {
+		this.resignationDate = resignationDate;
+	}
+	public long getVersion() {
+		return version;
+	}
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
 	@Override
 	public String toString() {
 		return "EmployeeEntity [id=" + id + ", name=" + name + ", email=" + email + ", salary=" + salary
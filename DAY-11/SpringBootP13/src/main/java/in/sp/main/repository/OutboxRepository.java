@@ -0,0 +1,20 @@
+package in.sp.main.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import in.sp.main.entity.EmployeeChangeEvent;
+import java.util.List;
+
+public interface OutboxRepository extends JpaRepository<EmployeeChangeEvent, Long> {
+
+    // Committed events the relay has not given an offset yet, oldest first
+    @Query("SELECT e FROM EmployeeChangeEvent e WHERE e.sequenceNo IS NULL ORDER BY e.id")
+    List<EmployeeChangeEvent> findUnsequenced(Limit limit);
+
+    // Events after a consumer's offset, for catch-up
+    List<EmployeeChangeEvent> findBySequenceNoGreaterThanOrderBySequenceNoAsc(long sequenceNo, Limit limit);
+
+    @Query("SELECT MAX(e.sequenceNo) FROM EmployeeChangeEvent e")
+    Long findMaxSequenceNo();
+}
@@ -1,18 +1,97 @@
 package in.sp.main.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import in.sp.main.dto.EmployeeSummary;
 import in.sp.main.entity.EmployeeEntity;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface Repository extends JpaRepository<EmployeeEntity, Long> {
 
-    // JPQL query to find employee by email
+    // JPQL query to find employee by email, the email cache's loader, so it opens its own read-only transaction
+    @Transactional(readOnly = true)
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = "employee-queries")
+    })
     @Query("SELECT e FROM EmployeeEntity e WHERE e.email = :email")
     EmployeeEntity findByEmail(@Param("email") String email);
 
-    // JPQL query to find employees by department
+    // JPQL query to find employees by department.
+    // Both queries above go to the query cache, so the service runs them against the primary: a result read
+    // from a lagging replica would be cached as current and outlive the write that invalidated the region.
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = "employee-queries")
+    })
     @Query("SELECT e FROM EmployeeEntity e WHERE e.department = :dept")
     List<EmployeeEntity> findByDepartment(@Param("dept") String dept);
+
+    // DTO projections of the two lookups above: no managed entities, no dirty-checking snapshots
+    @Query("SELECT new in.sp.main.dto.EmployeeSummary(e.id, e.name, e.department) FROM EmployeeEntity e WHERE e.email = :email")
+    EmployeeSummary findSummaryByEmail(@Param("email") String email);
+
+    @Query("SELECT new in.sp.main.dto.EmployeeSummary(e.id, e.name, e.department) FROM EmployeeEntity e WHERE e.department = :dept")
+    List<EmployeeSummary> findSummariesByDepartment(@Param("dept") String dept);
+
+    // Same query as findByDepartment, but rows are pulled from a server-side cursor
+    // in fetch-size batches instead of being materialized as one List
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT e FROM EmployeeEntity e WHERE e.department = :dept")
+    Stream<EmployeeEntity> streamByDepartment(@Param("dept") String dept);
+
+    // Only the columns the bonus rules need: id, salary, joiningDate, resignationDate
+    @Query("SELECT e.id, e.salary, e.joiningDate, e.resignationDate FROM EmployeeEntity e WHERE e.department = :dept")
+    List<Object[]> findBonusInputsByDepartment(@Param("dept") String dept);
+
+    // id, name, email, department of every employee, streamed to build the search index
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT e.id, e.name, e.email, e.department FROM EmployeeEntity e")
+    Stream<Object[]> streamSearchFields();
+
+    // Keyset pagination over the (department, id) index: the first page, then every page
+    // seeks past the last row of the previous one, so deep pages cost the same as page one.
+    // department is nullable; MySQL (and H2) sort NULL lowest, so employees without one come first.
+    @Query("SELECT e FROM EmployeeEntity e ORDER BY e.department, e.id")
+    List<EmployeeEntity> findFirstPage(Limit limit);
+
+    // NULL never compares greater or equal, so a page that ended inside the NULL group needs its own seek
+    default List<EmployeeEntity> findPageAfter(String dept, long id, Limit limit) {
+        return dept == null ? findPageAfterNoDepartment(id, limit) : findPageAfterDepartment(dept, id, limit);
+    }
+
+    @Query("SELECT e FROM EmployeeEntity e WHERE (e.department IS NULL AND e.id > :id) OR e.department IS NOT NULL "
+            + "ORDER BY e.department, e.id")
+    List<EmployeeEntity> findPageAfterNoDepartment(@Param("id") long id, Limit limit);
+
+    @Query("SELECT e FROM EmployeeEntity e WHERE e.department > :dept OR (e.department = :dept AND e.id > :id) "
+            + "ORDER BY e.department, e.id")
+    List<EmployeeEntity> findPageAfterDepartment(@Param("dept") String dept, @Param("id") long id, Limit limit);
+
+    // department, count, sum, avg, min, max of salary, one row per department
+    @Query("SELECT e.department, COUNT(e), SUM(e.salary), AVG(e.salary), MIN(e.salary), MAX(e.salary) "
+            + "FROM EmployeeEntity e GROUP BY e.department ORDER BY e.department")
+    List<Object[]> findSalaryAggregatesByDepartment();
+
+    // department, bucket, count: salary histogram with buckets of the given width, used for percentiles
+    @Query(value = "SELECT department, FLOOR(salary / :width) AS bucket, COUNT(*) FROM employee_table "
+            + "GROUP BY department, bucket ORDER BY department, bucket", nativeQuery = true)
+    List<Object[]> findSalaryHistogramByDepartment(@Param("width") double width);
+
+    // department, joiningDate, resignationDate of everyone employed at some point in [from, to]
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT e.department, e.joiningDate, e.resignationDate FROM EmployeeEntity e "
+            + "WHERE e.joiningDate IS NOT NULL AND e.joiningDate <= :to "
+            + "AND (e.resignationDate IS NULL OR e.resignationDate >= :from)")
+    Stream<Object[]> streamTenureEvents(@Param("from") LocalDate from, @Param("to") LocalDate to);
 }
@@ -0,0 +1,134 @@
+package in.sp.main.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Rule-driven bonus engine.
+// Band rates are marginal, like tax brackets: each rate applies only to the part of the salary inside its band,
+// so crossing a threshold never lowers the bonus.
+// bonus = (sum of band rate * salary in band + salary * tenure rate) * department multiplier, 0 once resigned.
+// Batch evaluation works on parallel primitive arrays so a whole department is one tight loop.
+@Component
+public class BonusCalculator
+{
+    public static final int NOT_ELIGIBLE = -1;     // tenure marker for resigned employees
+
+    private final double[] bandLimits;             // ascending salary thresholds
+    private final double[] bandRates;              // bandLimits.length + 1 rates, one per band
+    private final double tenureRatePerYear;
+    private final double tenureRateCap;
+    private final Map<String, Double> departmentMultipliers = new HashMap<>();
+
+    public BonusCalculator(@Value("${employee.bonus.band-limits:300000,600000,1200000}") String bandLimits,
+                           @Value("${employee.bonus.band-rates:0.10,0.08,0.06,0.05}") String bandRates,
+                           @Value("${employee.bonus.tenure-rate-per-year:0.005}") double tenureRatePerYear,
+                           @Value("${employee.bonus.tenure-rate-cap:0.05}") double tenureRateCap,
+                           @Value("${employee.bonus.department-multipliers:}") String departmentMultipliers)
+    {
+        this.bandLimits = parseDoubles("employee.bonus.band-limits", bandLimits);
+        this.bandRates = parseDoubles("employee.bonus.band-rates", bandRates);
+        if (this.bandRates.length != this.bandLimits.length + 1) {
+            throw new IllegalArgumentException("employee.bonus.band-rates needs exactly one more entry than band-limits");
+        }
+        for (int i = 1; i < this.bandLimits.length; i++) {
+            if (!(this.bandLimits[i] > this.bandLimits[i - 1])) {
+                throw new IllegalArgumentException("employee.bonus.band-limits must be strictly ascending: " + bandLimits);
+            }
+        }
+        this.tenureRatePerYear = tenureRatePerYear;
+        this.tenureRateCap = tenureRateCap;
+
+        // format: Engineering:1.2,Sales:1.1
+        for (String pair : departmentMultipliers.split(",")) {
+            if (pair.isBlank()) {
+                continue;
+            }
+            String[] parts = pair.split(":");
+            if (parts.length != 2 || parts[0].isBlank()) {
+                throw new IllegalArgumentException(
+                        "employee.bonus.department-multipliers entry '" + pair.trim() + "' is not Department:multiplier");
+            }
+            double multiplier = parseDouble("employee.bonus.department-multipliers", parts[1]);
+            if (!(multiplier >= 0)) {
+                throw new IllegalArgumentException(
+                        "employee.bonus.department-multipliers entry '" + pair.trim() + "' must not be negative");
+            }
+            this.departmentMultipliers.put(parts[0].trim(), multiplier);
+        }
+    }
+
+    public double departmentMultiplier(String department)
+    {
+        return departmentMultipliers.getOrDefault(department, 1.0);
+    }
+
+    // Whole months of service as of the given date, or NOT_ELIGIBLE if the employee has already left
+    public static int tenureMonths(LocalDate joiningDate, LocalDate resignationDate, LocalDate asOf)
+    {
+        if (resignationDate != null && !resignationDate.isAfter(asOf)) {
+            return NOT_ELIGIBLE;
+        }
+        if (joiningDate == null || joiningDate.isAfter(asOf)) {
+            return 0;
+        }
+        return (int) ChronoUnit.MONTHS.between(joiningDate, asOf);
+    }
+
+    public double bonus(double salary, int tenureMonths, String department)
+    {
+        double[] out = new double[1];
+        evaluate(new double[] { salary }, new int[] { tenureMonths }, departmentMultiplier(department), out, 1);
+        return out[0];
+    }
+
+    // Evaluates the first n employees of one department. out doubles as the band bonus accumulator,
+    // every pass is a branch-free loop over primitive arrays that the JIT can unroll and vectorize.
+    public void evaluate(double[] salaries, int[] tenureMonths, double departmentMultiplier, double[] out, int n)
+    {
+        double baseRate = bandRates[0];
+        for (int i = 0; i < n; i++) {
+            out[i] = salaries[i] * baseRate;
+        }
+
+        // the salary above each threshold earns the difference between the next band's rate and this one's
+        for (int band = 0; band < bandLimits.length; band++) {
+            double limit = bandLimits[band];
+            double step = bandRates[band + 1] - bandRates[band];
+            for (int i = 0; i < n; i++) {
+                out[i] += step * Math.max(0.0, salaries[i] - limit);
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            int months = tenureMonths[i];
+            double tenureRate = Math.min((months / 12) * tenureRatePerYear, tenureRateCap);
+            double bonus = (out[i] + salaries[i] * tenureRate) * departmentMultiplier;
+            out[i] = months < 0 ? 0.0 : bonus;
+        }
+    }
+
+    private static double[] parseDoubles(String property, String csv)
+    {
+        String[] parts = csv.split(",");
+        double[] values = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = parseDouble(property, parts[i]);
+        }
+        return values;
+    }
+
+    private static double parseDouble(String property, String value)
+    {
+        try {
+            return Double.parseDouble(value.trim());
+        }
+        catch (NumberFormatException e) {
+            throw new IllegalArgumentException(property + " has a value that is not a number: '" + value.trim() + "'", e);
+        }
+    }
+}
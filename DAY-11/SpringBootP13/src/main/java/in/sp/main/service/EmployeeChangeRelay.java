@@ -0,0 +1,210 @@
+package in.sp.main.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import in.sp.main.config.VirtualThreads;
+import in.sp.main.dto.EmployeeChange;
+import in.sp.main.entity.EmployeeChangeEvent;
+import in.sp.main.repository.OutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+// Relays committed outbox rows to GET /employees/changes subscribers.
+// Outbox ids come from a pooled sequence, so they are not in commit order; the relay gives every
+// newly committed row the next sequenceNo instead, and that is the offset consumers resume from.
+// Assumes one relay per database, like the write-behind drainer.
+//
+// Each subscriber has its own thread (virtual on Java 21+) and a bounded queue of live batches. The relay only offers
+// to those queues, so a slow client never holds it up: once its queue is full the subscriber is dropped
+// and resumes from its Last-Event-ID.
+@Component
+public class EmployeeChangeRelay
+{
+    private static final Logger log = LoggerFactory.getLogger(EmployeeChangeRelay.class);
+
+    private static final String EVENT_NAME = "employee-changes";
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${employee.changes.batch-size:500}")
+    private int batchSize;
+
+    @Value("${employee.changes.emitter-timeout-ms:0}")
+    private long emitterTimeoutMillis;
+
+    @Value("${employee.changes.subscriber-queue-batches:64}")
+    private int subscriberQueueBatches;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    private final ThreadFactory subscriberThreads = VirtualThreads.factory("employee-changes-");
+
+    private Counter dropped;
+
+    // highest sequenceNo handed out, only touched under the relay's monitor
+    private long lastSequenceNo;
+
+    @PostConstruct
+    public void start()
+    {
+        Long max = outboxRepository.findMaxSequenceNo();
+        lastSequenceNo = max != null ? max : 0;
+        Gauge.builder("employee.changes.subscribers", subscribers, List::size)
+                .description("Open change stream subscriptions")
+                .register(meterRegistry);
+        dropped = Counter.builder("employee.changes.dropped")
+                .description("Subscribers dropped because they fell behind the live stream")
+                .register(meterRegistry);
+    }
+
+    // Sequences whatever committed since the last tick and hands it to every live subscriber.
+    // Rows are sequenced even with nobody listening, consumers catch up from the table later.
+    @Scheduled(fixedDelayString = "${employee.changes.poll-interval-ms:500}")
+    public synchronized void relay()
+    {
+        List<EmployeeChange> batch;
+        do {
+            batch = transactionTemplate.execute(status -> {
+                List<EmployeeChange> sequenced = new ArrayList<>();
+                for (EmployeeChangeEvent event : outboxRepository.findUnsequenced(Limit.of(batchSize))) {
+                    event.setSequenceNo(++lastSequenceNo);      // flushed by dirty checking on commit
+                    sequenced.add(EmployeeChange.of(event));
+                }
+                return sequenced;
+            });
+            if (batch.isEmpty()) {
+                return;
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.live && !subscriber.queue.offer(batch)) {
+                    dropped.increment();
+                    subscriber.close("fell " + subscriberQueueBatches + " batches behind");
+                }
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    // Opens a stream that first replays everything after since and then follows the relay.
+    // Returns at once, the replay runs on the subscriber's own thread in pages of batchSize.
+    public SseEmitter subscribe(long since)
+    {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, since, subscriberQueueBatches);
+        emitter.onCompletion(() -> subscriber.close(null));
+        emitter.onTimeout(() -> subscriber.close("timed out"));
+        emitter.onError(e -> subscriber.close(e.toString()));
+        subscribers.add(subscriber);
+        subscriberThreads.newThread(subscriber::run).start();
+        return emitter;
+    }
+
+    private final class Subscriber
+    {
+        final SseEmitter emitter;
+        final BlockingQueue<List<EmployeeChange>> queue;
+        volatile long offset;
+        // false while replaying from the table, the relay only queues batches for live subscribers
+        volatile boolean live;
+        volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, long offset, int capacity) {
+            this.emitter = emitter;
+            this.offset = offset;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void run()
+        {
+            try {
+                replay();
+                // batches published while replaying weren't queued but are committed by now,
+                // so one more replay after going live closes the gap; the overlap is filtered by offset
+                live = true;
+                replay();
+                while (!closed) {
+                    List<EmployeeChange> batch = queue.poll(1, TimeUnit.SECONDS);
+                    if (batch != null) {
+                        send(batch);
+                    }
+                }
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            catch (IOException | RuntimeException e) {
+                // client went away, it resumes from its Last-Event-ID
+                log.debug("employee.changes subscriber dropped at offset={}", offset, e);
+                closed = true;
+            }
+            finally {
+                subscribers.remove(this);
+                emitter.complete();
+            }
+        }
+
+        private void replay() throws IOException
+        {
+            List<EmployeeChange> page;
+            do {
+                long from = offset;
+                page = transactionTemplate.execute(status -> outboxRepository
+                        .findBySequenceNoGreaterThanOrderBySequenceNoAsc(from, Limit.of(batchSize))
+                        .stream().map(EmployeeChange::of).toList());
+                send(page);
+            } while (page.size() == batchSize && !closed);
+        }
+
+        // One SSE event per batch, its id is the last sequence in it so Last-Event-ID resumes right after
+        private void send(List<EmployeeChange> batch) throws IOException
+        {
+            List<EmployeeChange> pending = batch.stream().filter(change -> change.sequence() > offset).toList();
+            if (pending.isEmpty() || closed) {
+                return;
+            }
+            long last = pending.get(pending.size() - 1).sequence();
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(last))
+                    .name(EVENT_NAME)
+                    .data(pending, MediaType.APPLICATION_JSON));
+            offset = last;
+        }
+
+        // Never blocks: the subscriber's own thread sees the flag, unregisters and completes the emitter
+        void close(String reason)
+        {
+            if (!closed && reason != null) {
+                log.debug("employee.changes subscriber closed at offset={}: {}", offset, reason);
+            }
+            closed = true;
+            live = false;
+            subscribers.remove(this);
+        }
+    }
+}
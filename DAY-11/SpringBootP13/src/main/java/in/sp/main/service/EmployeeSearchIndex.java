@@ -0,0 +1,216 @@
+package in.sp.main.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import in.sp.main.dto.EmployeeSummary;
+import in.sp.main.entity.EmployeeEntity;
+import in.sp.main.repository.Repository;
+
+// In-memory prefix index over name, email and department.
+// Terms live in a sorted map, so a prefix lookup is a range scan of the map instead of a LIKE '%x%' table scan.
+// Loaded from employee_table by an ApplicationRunner, which runs before readiness flips to ACCEPTING_TRAFFIC.
+// Tomcat already serves requests by then, so isLoaded() lets search answer 503 instead of partial results.
+// Kept in sync by Imp_EmployeeService once each write commits.
+@Component
+public class EmployeeSearchIndex implements ApplicationRunner
+{
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSearchIndex.class);
+
+    private final NavigableMap<String, Set<Long>> terms = new ConcurrentSkipListMap<>();
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+
+    @Autowired
+    private Repository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${employee.search.load-on-startup:true}")
+    private boolean loadOnStartup;
+
+    private volatile boolean loaded;
+
+    @Override
+    public void run(ApplicationArguments args)
+    {
+        if (!loadOnStartup) {
+            // explicitly opted out: only employees written from now on are searchable
+            loaded = true;
+            return;
+        }
+        long start = System.nanoTime();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = repository.streamSearchFields()) {
+                rows.forEach(row -> indexIfAbsent((Long) row[0], (String) row[1], (String) row[2], (String) row[3]));
+            }
+        });
+        loaded = true;
+        log.info("employee.search loaded={} terms={} millis={}",
+                documents.size(), terms.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public boolean isLoaded()
+    {
+        return loaded;
+    }
+
+    public void index(EmployeeEntity employee)
+    {
+        index(employee.getId(), employee.getName(), employee.getEmail(), employee.getDepartment());
+    }
+
+    // Indexes the employee once the surrounding transaction commits, so a rolled back write never shows up
+    public void indexAfterCommit(long id, String name, String email, String department)
+    {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index(id, name, email, department);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index(id, name, email, department);
+            }
+        });
+    }
+
+    // The startup load can read a row older than a write that committed and was indexed meanwhile, keep the newer one
+    private synchronized void indexIfAbsent(long id, String name, String email, String department)
+    {
+        if (!documents.containsKey(id)) {
+            index(id, name, email, department);
+        }
+    }
+
+    // Writers are serialized so two updates of one employee can't interleave their term changes, readers never lock
+    public synchronized void index(long id, String name, String email, String department)
+    {
+        Set<String> docTerms = new LinkedHashSet<>();
+        addTokens(docTerms, name);
+        addTokens(docTerms, email);
+        addTokens(docTerms, department);
+
+        Document previous = documents.put(id,
+                new Document(new EmployeeSummary(id, name, department), docTerms.toArray(new String[0])));
+        if (previous != null) {
+            for (String term : previous.terms()) {
+                if (!docTerms.contains(term)) {
+                    // a term nobody has any more is dropped, or renames would grow the map forever
+                    terms.computeIfPresent(term, (t, ids) -> ids.remove(id) && ids.isEmpty() ? null : ids);
+                }
+            }
+        }
+        for (String term : docTerms) {
+            terms.computeIfAbsent(term, t -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    // Every query token must prefix-match some term of the employee. Candidates come lazily from the
+    // longest (most selective) token and are checked against the rest, stopping once limit is reached.
+    public List<EmployeeSummary> search(String query, int limit)
+    {
+        Set<String> tokens = new LinkedHashSet<>();
+        addTokens(tokens, query);
+        List<EmployeeSummary> results = new ArrayList<>();
+        if (tokens.isEmpty()) {
+            return results;
+        }
+
+        String driver = null;
+        for (String token : tokens) {
+            if (driver == null || token.length() > driver.length()) {
+                driver = token;
+            }
+        }
+
+        Set<Long> seen = new HashSet<>();
+        Iterator<Set<Long>> matches = prefixRange(driver).values().iterator();
+        while (matches.hasNext() && results.size() < limit) {
+            for (Long id : matches.next()) {
+                if (results.size() >= limit) {
+                    break;
+                }
+                if (!seen.add(id)) {
+                    continue;
+                }
+                Document document = documents.get(id);
+                if (document != null && matchesAll(document, tokens)) {
+                    results.add(document.summary());
+                }
+            }
+        }
+        return results;
+    }
+
+    public int size()
+    {
+        return documents.size();
+    }
+
+    public int termCount()
+    {
+        return terms.size();
+    }
+
+    private NavigableMap<String, Set<Long>> prefixRange(String prefix)
+    {
+        return terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static boolean matchesAll(Document document, Set<String> tokens)
+    {
+        for (String token : tokens) {
+            boolean found = false;
+            for (String term : document.terms()) {
+                if (term.startsWith(token)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void addTokens(Set<String> into, String text)
+    {
+        if (text == null) {
+            return;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                into.add(token);
+            }
+        }
+    }
+
+    private record Document(EmployeeSummary summary, String[] terms) {
+    }
+}
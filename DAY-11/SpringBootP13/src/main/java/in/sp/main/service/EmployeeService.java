@@ -1,12 +1,32 @@
 package in.sp.main.service;
 
+import in.sp.main.dto.BulkInsertResult;
+import in.sp.main.dto.DepartmentBonusReport;
+import in.sp.main.dto.DepartmentSalaryStats;
+import in.sp.main.dto.EmployeePage;
+import in.sp.main.dto.EmployeeSummary;
+import in.sp.main.dto.HeadcountReport;
+import in.sp.main.dto.UpsertResult;
 import in.sp.main.entity.EmployeeEntity;
+import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
     double calculateBonus(long employeeId);
+    DepartmentBonusReport calculateDepartmentBonuses(String department);
     EmployeeEntity addEmployee(EmployeeEntity employee);
+    UpsertResult upsertByEmail(EmployeeEntity employee, Long expectedVersion);  // INSERT ... ON DUPLICATE KEY UPDATE, or a version-checked UPDATE
+    BulkInsertResult addEmployees(Iterator<EmployeeEntity> employees);  // chunked JDBC batch insert
     EmployeeEntity findByEmail(String email);  // JPQL method
     List<EmployeeEntity> findByDepartment(String department);  // JPQL method
+    EmployeeSummary findSummaryByEmail(String email);  // projection, read-only
+    List<EmployeeSummary> findSummariesByDepartment(String department);  // projection, read-only
+    List<DepartmentSalaryStats> salaryStatsByDepartment(double bucketWidth);  // aggregated in the database
+    HeadcountReport headcount(LocalDate from, LocalDate to, Granularity granularity);  // joiningDate/resignationDate analytics
+    List<EmployeeSummary> search(String query, int limit);  // prefix search over name, email, department
+    EmployeePage findPage(String cursor, int size);  // keyset pagination ordered by (department, id)
+    void exportByDepartment(String department, Consumer<EmployeeEntity> sink);  // streaming JPQL method
 }
 
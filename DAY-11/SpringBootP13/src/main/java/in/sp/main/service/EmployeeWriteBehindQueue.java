@@ -0,0 +1,193 @@
+package in.sp.main.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import in.sp.main.dto.WriteTicketStatus;
+import in.sp.main.dto.WriteTicketStatus.State;
+import in.sp.main.entity.EmployeeEntity;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Write-behind mode for POST /employees/emp (employee.write-behind.enabled=true).
+// Requests are parked in a bounded queue and a single drainer thread saves them in batches,
+// so a burst of single inserts turns into a few batched transactions.
+// A batch never spans more than one bulk chunk, so it commits or rolls back as a unit; a rolled back
+// batch is retried row by row, so one bad row fails only its own ticket.
+@Component
+public class EmployeeWriteBehindQueue
+{
+    private static final Logger log = LoggerFactory.getLogger(EmployeeWriteBehindQueue.class);
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long shutdownTimeoutMillis;
+    private final BlockingQueue<Pending> queue;
+    private final Map<String, WriteTicketStatus> statuses;
+
+    private volatile boolean running;
+    private Thread drainer;
+
+    public EmployeeWriteBehindQueue(@Value("${employee.write-behind.enabled:false}") boolean enabled,
+                                    @Value("${employee.write-behind.capacity:100000}") int capacity,
+                                    @Value("${employee.write-behind.batch-size:500}") int batchSize,
+                                    @Value("${employee.write-behind.tracked-tickets:200000}") int trackedTickets,
+                                    @Value("${employee.write-behind.shutdown-timeout-ms:30000}") long shutdownTimeoutMillis,
+                                    @Value("${employee.bulk.chunk-size:1000}") int chunkSize)
+    {
+        this.enabled = enabled;
+        this.batchSize = Math.min(batchSize, chunkSize);
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        // only the most recent tickets are kept for polling
+        this.statuses = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, WriteTicketStatus> eldest) {
+                return size() > trackedTickets;
+            }
+        };
+    }
+
+    @PostConstruct
+    public void start()
+    {
+        if (!enabled) {
+            return;
+        }
+        Gauge.builder("employee.write_behind.queue", queue, BlockingQueue::size)
+                .description("Employees waiting to be written")
+                .register(meterRegistry);
+        running = true;
+        drainer = new Thread(this::drain, "employee-write-behind");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    // Stops accepting work and lets the drainer flush what is already queued, for up to the shutdown timeout.
+    // The drainer is not interrupted: that could abort a batch mid-transaction and leave its tickets QUEUED.
+    @PreDestroy
+    public void stop() throws InterruptedException
+    {
+        if (drainer == null) {
+            return;
+        }
+        running = false;
+        drainer.join(shutdownTimeoutMillis);
+        if (drainer.isAlive()) {
+            log.warn("employee.write_behind still draining after {} ms, {} employees not written",
+                    shutdownTimeoutMillis, queue.size());
+        }
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    // Returns the ticket, or null when the queue is full and the caller should back off
+    public WriteTicketStatus submit(EmployeeEntity employee)
+    {
+        if (!running) {
+            return null;
+        }
+        String ticket = UUID.randomUUID().toString();
+        WriteTicketStatus status = new WriteTicketStatus(ticket, State.QUEUED, null, null);
+        updateStatus(status);
+        if (!queue.offer(new Pending(ticket, employee))) {
+            synchronized (statuses) {
+                statuses.remove(ticket);
+            }
+            return null;
+        }
+        return status;
+    }
+
+    public WriteTicketStatus status(String ticket)
+    {
+        synchronized (statuses) {
+            return statuses.get(ticket);
+        }
+    }
+
+    private void drain()
+    {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            }
+            catch (InterruptedException e) {
+                // only on JVM teardown, stop() lets the loop run out on its own
+                Thread.currentThread().interrupt();
+                return;
+            }
+            finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending> batch)
+    {
+        try {
+            employeeService.addEmployees(batch.stream().map(Pending::employee).iterator());
+            for (Pending pending : batch) {
+                saved(pending);
+            }
+        }
+        catch (RuntimeException e) {
+            // the whole batch rolled back, find the rows that caused it
+            log.warn("employee.write_behind batch of {} failed, retrying row by row: {}", batch.size(), e.toString());
+            for (Pending pending : batch) {
+                try {
+                    employeeService.addEmployees(List.of(pending.employee()).iterator());
+                    saved(pending);
+                }
+                catch (RuntimeException rowFailure) {
+                    updateStatus(new WriteTicketStatus(pending.ticket(), State.FAILED, null, rowFailure.getMessage()));
+                }
+            }
+        }
+    }
+
+    private void saved(Pending pending)
+    {
+        updateStatus(new WriteTicketStatus(pending.ticket(), State.SAVED, pending.employee().getId(), null));
+    }
+
+    private void updateStatus(WriteTicketStatus status)
+    {
+        synchronized (statuses) {
+            statuses.put(status.ticket(), status);
+        }
+    }
+
+    private record Pending(String ticket, EmployeeEntity employee) {
+    }
+}
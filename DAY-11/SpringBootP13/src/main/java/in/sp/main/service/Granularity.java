@@ -0,0 +1,20 @@
+package in.sp.main.service;
+
+import java.time.LocalDate;
+
+// Period length of the headcount time series
+public enum Granularity
+{
+    DAY, WEEK, MONTH, QUARTER, YEAR;
+
+    public LocalDate next(LocalDate start)
+    {
+        return switch (this) {
+            case DAY -> start.plusDays(1);
+            case WEEK -> start.plusWeeks(1);
+            case MONTH -> start.plusMonths(1);
+            case QUARTER -> start.plusMonths(3);
+            case YEAR -> start.plusYears(1);
+        };
+    }
+}
@@ -0,0 +1,112 @@
+package in.sp.main.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import in.sp.main.dto.DepartmentHeadcount;
+import in.sp.main.dto.HeadcountReport;
+import in.sp.main.repository.Repository;
+
+// Headcount, joiners/leavers, attrition and tenure per department over joiningDate/resignationDate.
+// Rows are streamed once into per-department int arrays of epoch days and handed to HeadcountSweep.
+// Must be called inside a read-only transaction (the repository stream needs an open connection).
+@Component
+public class HeadcountAnalytics
+{
+    static final List<String> TENURE_BUCKETS = List.of("<1y", "1-2y", "2-5y", "5-10y", "10y+");
+    private static final int[] TENURE_BUCKET_YEARS = { 1, 2, 5, 10 };
+
+    @Autowired
+    private Repository repository;
+
+    @Value("${employee.analytics.max-periods:20000}")
+    private int maxPeriods;
+
+    public HeadcountReport headcount(LocalDate from, LocalDate to, Granularity granularity)
+    {
+        if (to.isBefore(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'to' must not be before 'from'");
+        }
+
+        List<LocalDate> periodStarts = new ArrayList<>();
+        for (LocalDate start = from; !start.isAfter(to); start = granularity.next(start)) {
+            if (periodStarts.size() == maxPeriods) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Too many periods, use a coarser granularity");
+            }
+            periodStarts.add(start);
+        }
+        int[] boundaries = new int[periodStarts.size() + 1];
+        for (int k = 0; k < periodStarts.size(); k++) {
+            boundaries[k] = (int) periodStarts.get(k).toEpochDay();
+        }
+        boundaries[periodStarts.size()] = (int) to.plusDays(1).toEpochDay();
+
+        Map<String, Events> byDepartment = new HashMap<>();
+        try (Stream<Object[]> rows = repository.streamTenureEvents(from, to)) {
+            rows.forEach(row -> {
+                LocalDate joined = (LocalDate) row[1];
+                LocalDate resigned = (LocalDate) row[2];
+                Events events = byDepartment.computeIfAbsent((String) row[0], d -> new Events());
+                events.add(joined, resigned, to);
+            });
+        }
+
+        List<DepartmentHeadcount> departments = new ArrayList<>();
+        byDepartment.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.nullsFirst(Comparator.naturalOrder())))
+                .forEach(entry -> {
+                    Events events = entry.getValue();
+                    departments.add(HeadcountSweep.sweep(entry.getKey(), events.joins, events.joinCount,
+                            events.resigns, events.resignCount, boundaries, events.tenure));
+                });
+        return new HeadcountReport(from, to, granularity.name(), periodStarts, TENURE_BUCKETS, departments);
+    }
+
+    // Growable primitive arrays of one department's events
+    private static final class Events
+    {
+        int[] joins = new int[16];
+        int joinCount;
+        int[] resigns = new int[16];
+        int resignCount;
+        final int[] tenure = new int[TENURE_BUCKETS.size()];
+
+        void add(LocalDate joined, LocalDate resigned, LocalDate asOf)
+        {
+            if (joinCount == joins.length) {
+                joins = Arrays.copyOf(joins, joinCount * 2);
+            }
+            joins[joinCount++] = (int) joined.toEpochDay();
+
+            if (resigned != null) {
+                if (resignCount == resigns.length) {
+                    resigns = Arrays.copyOf(resigns, resignCount * 2);
+                }
+                resigns[resignCount++] = (int) resigned.toEpochDay();
+            }
+
+            // tenure of employees still active on the last day of the range
+            if (resigned == null || resigned.isAfter(asOf)) {
+                long years = ChronoUnit.YEARS.between(joined, asOf);
+                int bucket = 0;
+                while (bucket < TENURE_BUCKET_YEARS.length && years >= TENURE_BUCKET_YEARS[bucket]) {
+                    bucket++;
+                }
+                tenure[bucket]++;
+            }
+        }
+    }
+}
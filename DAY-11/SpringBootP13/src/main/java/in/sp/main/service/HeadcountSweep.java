@@ -0,0 +1,63 @@
+package in.sp.main.service;
+
+import java.util.Arrays;
+
+import in.sp.main.dto.DepartmentHeadcount;
+
+// Sweep-line over sorted join and resignation days (epoch days) of one department.
+// An employee is active on day d when joinDay <= d < resignDay. Both arrays are sorted once and then
+// walked by two forward-only cursors across the period boundaries, so the cost is O(n log n + periods)
+// no matter how many days the range spans.
+public final class HeadcountSweep
+{
+    private HeadcountSweep()
+    {
+    }
+
+    // boundaries holds periods + 1 epoch days: period k covers [boundaries[k], boundaries[k + 1])
+    public static DepartmentHeadcount sweep(String department, int[] joinDays, int joinCount,
+                                            int[] resignDays, int resignCount, int[] boundaries, int[] tenureHistogram)
+    {
+        Arrays.sort(joinDays, 0, joinCount);
+        Arrays.sort(resignDays, 0, resignCount);
+
+        int periods = boundaries.length - 1;
+        int[] headcount = new int[periods];
+        int[] joiners = new int[periods];
+        int[] leavers = new int[periods];
+        double[] attrition = new double[periods];
+
+        // cursors count the days strictly before the current boundary, so after advancing them to
+        // a period's end, joined - resigned is the headcount on that period's last day
+        int joined = 0;
+        int resigned = 0;
+        while (joined < joinCount && joinDays[joined] < boundaries[0]) {
+            joined++;
+        }
+        while (resigned < resignCount && resignDays[resigned] < boundaries[0]) {
+            resigned++;
+        }
+        int active = joined - resigned;
+
+        for (int k = 0; k < periods; k++) {
+            int start = active;
+            int joinedBefore = joined;
+            int resignedBefore = resigned;
+            int end = boundaries[k + 1];
+            while (joined < joinCount && joinDays[joined] < end) {
+                joined++;
+            }
+            while (resigned < resignCount && resignDays[resigned] < end) {
+                resigned++;
+            }
+            active = joined - resigned;
+
+            headcount[k] = active;
+            joiners[k] = joined - joinedBefore;
+            leavers[k] = resigned - resignedBefore;
+            double average = (start + active) / 2.0;
+            attrition[k] = average > 0 ? leavers[k] / average : 0.0;
+        }
+        return new DepartmentHeadcount(department, headcount, joiners, leavers, attrition, tenureHistogram);
+    }
+}
@@ -1,39 +1,537 @@
 package in.sp.main.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import in.sp.main.cache.EmailLookupCache;
+import in.sp.main.config.ReplicaRoutingDataSource;
+import in.sp.main.dto.BulkInsertResult;
+import in.sp.main.dto.ChunkTiming;
+import in.sp.main.dto.DepartmentBonusReport;
+import in.sp.main.dto.DepartmentSalaryStats;
+import in.sp.main.dto.EmployeePage;
+import in.sp.main.dto.EmployeeSummary;
+import in.sp.main.dto.HeadcountReport;
+import in.sp.main.dto.UpsertResult;
+import in.sp.main.dto.UpsertResult.Outcome;
+import in.sp.main.entity.EmployeeChangeEvent;
 import in.sp.main.entity.EmployeeEntity;
+import in.sp.main.repository.OutboxRepository;
 import in.sp.main.repository.Repository;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.NativeQuery;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "employee.service", histogram = true, percentiles = { 0.5, 0.95, 0.99 })
 public class Imp_EmployeeService implements EmployeeService {
 
+    private static final Logger log = LoggerFactory.getLogger(Imp_EmployeeService.class);
+
+    private final AtomicLong addCount = new AtomicLong();
+
     @Autowired
     private Repository repository;
 
+    @Autowired
+    private EmailLookupCache emailCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BonusCalculator bonusCalculator;
+
+    @Autowired
+    private EmployeeSearchIndex searchIndex;
+
+    @Autowired
+    private HeadcountAnalytics headcountAnalytics;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${employee.bulk.chunk-size:1000}")
+    private int bulkChunkSize;
+
+    // 0 turns the sampled insert log off
+    @Value("${employee.log.add-sample-rate:100}")
+    private int addLogSampleRate;
+
+    @PostConstruct
+    public void validateSettings() {
+        if (addLogSampleRate < 0) {
+            throw new IllegalArgumentException(
+                    "employee.log.add-sample-rate must be 0 (off) or a positive rate, got " + addLogSampleRate);
+        }
+    }
+
     @Override
+    @Transactional(readOnly = true)
     public double calculateBonus(long employeeId) {
-        return 5000;
+        EmployeeEntity employee = repository.findById(employeeId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Employee " + employeeId + " not found"));
+        int tenure = BonusCalculator.tenureMonths(employee.getJoiningDate(), employee.getResignationDate(), LocalDate.now());
+        return bonusCalculator.bonus(employee.getSalary(), tenure, employee.getDepartment());
+    }
+
+    // Loads just the bonus inputs of the department into primitive arrays and evaluates them in one pass
+    @Override
+    @Transactional(readOnly = true)
+    public DepartmentBonusReport calculateDepartmentBonuses(String department)
+    {
+        List<Object[]> rows = repository.findBonusInputsByDepartment(department);
+        int n = rows.size();
+        long[] ids = new long[n];
+        double[] salaries = new double[n];
+        int[] tenure = new int[n];
+        LocalDate today = LocalDate.now();
+
+        for (int i = 0; i < n; i++) {
+            Object[] row = rows.get(i);
+            ids[i] = (Long) row[0];
+            salaries[i] = (Double) row[1];
+            tenure[i] = BonusCalculator.tenureMonths((LocalDate) row[2], (LocalDate) row[3], today);
+        }
+
+        double[] bonuses = new double[n];
+        bonusCalculator.evaluate(salaries, tenure, bonusCalculator.departmentMultiplier(department), bonuses, n);
+
+        double total = 0;
+        for (double bonus : bonuses) {
+            total += bonus;
+        }
+        return new DepartmentBonusReport(department, n, total, ids, bonuses);
     }
 
     @Override
     @Transactional
     public EmployeeEntity addEmployee(EmployeeEntity employee) 
     {
-    	 System.out.println("Adding employee: " + employee.toString()); 
-        return repository.save(employee);
+        EmployeeEntity saved = repository.save(employee);
+        outboxRepository.save(changeEvent(saved, "CREATED"));
+        emailCache.invalidateAfterCommit(saved.getId(), saved.getEmail());
+        searchIndex.indexAfterCommit(saved.getId(), saved.getName(), saved.getEmail(), saved.getDepartment());
+
+        // one in addLogSampleRate inserts is logged, and never with personal data
+        long count = addCount.incrementAndGet();
+        if (addLogSampleRate > 0 && count % addLogSampleRate == 0) {
+            log.info("employee.add id={} department={} sampled=1/{} total={}",
+                    saved.getId(), saved.getDepartment(), addLogSampleRate, count);
+        }
+        return saved;
     }
 
+    // Insert-or-update keyed by the unique email, resolved by MySQL in one statement instead of
+    // select-then-insert, so gateway retries are cheap and can't create duplicates.
+    // The version only moves when a column actually changes (assignments run left to right, so the
+    // IF still sees the old values), which keeps a replayed request a true no-op.
+    private static final String UPSERT_SQL =
+            "INSERT INTO employee_table (id, name, email, salary, department, joining_date, resignation_date, version) "
+            + "VALUES (:id, :name, :email, :salary, :department, :joiningDate, :resignationDate, 0) "
+            + "ON DUPLICATE KEY UPDATE "
+            + "version = IF(name <=> VALUES(name) AND salary <=> VALUES(salary) AND department <=> VALUES(department) "
+            + "AND joining_date <=> VALUES(joining_date) AND resignation_date <=> VALUES(resignation_date), version, version + 1), "
+            + "id = LAST_INSERT_ID(id), name = VALUES(name), salary = VALUES(salary), department = VALUES(department), "
+            + "joining_date = VALUES(joining_date), resignation_date = VALUES(resignation_date)";
+
+    // With If-Match: update only while the row is still at the expected version
+    private static final String CONDITIONAL_UPDATE_SQL =
+            "UPDATE employee_table SET name = :name, salary = :salary, department = :department, "
+            + "joining_date = :joiningDate, resignation_date = :resignationDate, version = version + 1 "
+            + "WHERE email = :email AND version = :expectedVersion AND NOT (name <=> :name AND salary <=> :salary "
+            + "AND department <=> :department AND joining_date <=> :joiningDate AND resignation_date <=> :resignationDate)";
+
+    private static final String CURRENT_ROW_SQL =
+            "SELECT id, name, salary, department, joining_date, resignation_date FROM employee_table WHERE email = :email";
+
+    @Override
+    @Transactional
+    public UpsertResult upsertByEmail(EmployeeEntity employee, Long expectedVersion)
+    {
+        UpsertResult result = expectedVersion == null ? upsert(employee) : updateIfVersion(employee, expectedVersion);
+        if (result.outcome() == Outcome.UNCHANGED) {
+            return result;
+        }
+
+        employee.setId(result.id());
+        outboxRepository.save(changeEvent(employee, result.outcome().name()));
+
+        emailCache.invalidateAfterCommit(result.id(), employee.getEmail());
+        searchIndex.indexAfterCommit(result.id(), employee.getName(), employee.getEmail(), employee.getDepartment());
+        return result;
+    }
+
+    private UpsertResult upsert(EmployeeEntity employee)
+    {
+        // take an id from the same pooled generator Hibernate uses, usually without a round trip
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(EmployeeEntity.class);
+        long newId = ((Number) ((IdentifierGenerator) persister.getGenerator()).generate(session, employee)).longValue();
+
+        int affected = bindFields(entityManager.createNativeQuery(UPSERT_SQL).unwrap(NativeQuery.class), employee)
+                .addSynchronizedEntityClass(EmployeeEntity.class)    // only the employee cache regions go stale
+                .setParameter("id", newId)
+                .executeUpdate();
+
+        // MySQL affected rows (useAffectedRows=true): 1 inserted, 2 updated, 0 already identical.
+        // id = LAST_INSERT_ID(id) runs for an identical row too, so the existing id is known either way.
+        if (affected == 1) {
+            return new UpsertResult(newId, employee.getEmail(), Outcome.CREATED);
+        }
+        long existingId = ((Number) entityManager.createNativeQuery("SELECT LAST_INSERT_ID()").getSingleResult()).longValue();
+        return new UpsertResult(existingId, employee.getEmail(), affected == 2 ? Outcome.UPDATED : Outcome.UNCHANGED);
+    }
+
+    private UpsertResult updateIfVersion(EmployeeEntity employee, long expectedVersion)
+    {
+        int updated = bindFields(entityManager.createNativeQuery(CONDITIONAL_UPDATE_SQL).unwrap(NativeQuery.class), employee)
+                .addSynchronizedEntityClass(EmployeeEntity.class)
+                .setParameter("expectedVersion", expectedVersion)
+                .executeUpdate();
+
+        Object[] current = (Object[]) entityManager.createNativeQuery(CURRENT_ROW_SQL)
+                .setParameter("email", employee.getEmail())
+                .getResultStream().findFirst().orElse(null);
+        if (current == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Employee " + employee.getEmail() + " not found");
+        }
+        long id = ((Number) current[0]).longValue();
+        if (updated == 1) {
+            return new UpsertResult(id, employee.getEmail(), Outcome.UPDATED);
+        }
+        // a retry of a request that already went through sees its own data, whatever the version is now
+        if (sameFields(employee, current)) {
+            return new UpsertResult(id, employee.getEmail(), Outcome.UNCHANGED);
+        }
+        throw new OptimisticLockingFailureException(
+                "Employee " + id + " is no longer at version " + expectedVersion);
+    }
+
+    private static NativeQuery<?> bindFields(NativeQuery<?> query, EmployeeEntity employee)
+    {
+        return query.setParameter("name", employee.getName())
+                .setParameter("email", employee.getEmail())
+                .setParameter("salary", employee.getSalary())
+                .setParameter("department", employee.getDepartment())
+                .setParameter("joiningDate", employee.getJoiningDate())
+                .setParameter("resignationDate", employee.getResignationDate());
+    }
+
+    private static boolean sameFields(EmployeeEntity employee, Object[] row)
+    {
+        return Objects.equals(employee.getName(), row[1])
+                && row[2] != null && ((Number) row[2]).doubleValue() == employee.getSalary()
+                && Objects.equals(employee.getDepartment(), row[3])
+                && Objects.equals(employee.getJoiningDate(), toLocalDate(row[4]))
+                && Objects.equals(employee.getResignationDate(), toLocalDate(row[5]));
+    }
+
+    private static LocalDate toLocalDate(Object value)
+    {
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+
+    // Persists the employees chunk by chunk, each chunk in its own transaction so
+    // Hibernate can send it as JDBC batches and the persistence context stays small.
+    // If the input can't be read any further (malformed JSON, dropped connection), everything
+    // read before that point is still saved and the result says where reading stopped.
+    // Likewise if the database refuses a chunk (duplicate email, lost connection): that chunk
+    // is rolled back, the chunks before it stay committed and the result says which rows failed.
+    @Override
+    public BulkInsertResult addEmployees(Iterator<EmployeeEntity> employees)
+    {
+        long start = System.nanoTime();
+        List<ChunkTiming> timings = new ArrayList<>();
+        List<EmployeeEntity> chunk = new ArrayList<>(bulkChunkSize);
+        int inserted = 0;
+        RuntimeException readFailure = null;
+        String writeFailure = null;
+
+        while (true) {
+            try {
+                if (!employees.hasNext()) {
+                    break;
+                }
+                chunk.add(employees.next());
+            }
+            catch (RuntimeException e) {
+                readFailure = e;
+                break;
+            }
+            if (chunk.size() == bulkChunkSize) {
+                writeFailure = tryPersistChunk(timings, inserted, chunk);
+                if (writeFailure != null) {
+                    break;
+                }
+                inserted += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (writeFailure == null && !chunk.isEmpty()) {
+            writeFailure = tryPersistChunk(timings, inserted, chunk);
+            if (writeFailure == null) {
+                inserted += chunk.size();
+            }
+        }
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        if (writeFailure != null) {
+            log.warn("employee.bulk stopped after {} rows: {}", inserted, writeFailure);
+            return new BulkInsertResult(inserted, millis, timings, null, writeFailure);
+        }
+        if (readFailure == null) {
+            return new BulkInsertResult(inserted, millis, timings, null, null);
+        }
+        log.warn("employee.bulk stopped reading after {} rows: {}", inserted, readFailure.toString());
+        JsonProcessingException parseError = findCause(readFailure, JsonProcessingException.class);
+        if (parseError != null && parseError.getLocation() != null) {
+            return new BulkInsertResult(inserted, millis, timings,
+                    (long) parseError.getLocation().getLineNr(), parseError.getOriginalMessage());
+        }
+        return new BulkInsertResult(inserted, millis, timings, null, readFailure.getMessage());
+    }
+
+    // null once the chunk is committed and its timing added, otherwise why it was rolled back
+    private String tryPersistChunk(List<ChunkTiming> timings, int insertedBefore, List<EmployeeEntity> chunk)
+    {
+        try {
+            timings.add(persistChunk(timings.size() + 1, chunk));
+            return null;
+        }
+        catch (DataAccessException | TransactionException | PersistenceException e) {    // persist/flush aren't translated
+            Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+            return "rows " + (insertedBefore + 1) + "-" + (insertedBefore + chunk.size())
+                    + " were rolled back: " + cause.getMessage();
+        }
+    }
+
+    private static <T extends Throwable> T findCause(Throwable failure, Class<T> type)
+    {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return type.cast(cause);
+            }
+        }
+        return null;
+    }
+
+    private ChunkTiming persistChunk(int number, List<EmployeeEntity> chunk)
+    {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (EmployeeEntity employee : chunk) {
+                employee.setId(0);               // bulk rows are always new, ids come from the pooled sequence
+                entityManager.persist(employee);
+                entityManager.persist(changeEvent(employee, "CREATED"));
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+        for (EmployeeEntity employee : chunk) {
+            emailCache.invalidate(employee.getId(), employee.getEmail());    // chunk already committed
+            searchIndex.index(employee);
+        }
+        return new ChunkTiming(number, chunk.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Outbox row for a write, persisted by the caller inside the write's own transaction so the
+    // event exists exactly when the change commits. The payload leaves out the version, which
+    // the upsert path doesn't know.
+    private EmployeeChangeEvent changeEvent(EmployeeEntity employee, String type)
+    {
+        ObjectNode payload = objectMapper.valueToTree(employee);
+        payload.remove("version");
+        try {
+            return new EmployeeChangeEvent(employee.getId(), employee.getEmail(), type, Instant.now(),
+                    objectMapper.writeValueAsString(payload));
+        }
+        catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize change of employee " + employee.getId(), e);
+        }
+    }
+
+    // no transaction here: a cache hit must not borrow a connection, only the miss opens one in the repository.
+    // Misses read the primary, a lagging replica could hand back the row as it was before the write that evicted it.
     @Override
     public EmployeeEntity findByEmail(String email) {
-        return repository.findByEmail(email);
+        return emailCache.get(email, key -> ReplicaRoutingDataSource.readFromPrimary(() -> repository.findByEmail(key)));
     }
 
+    // query-cached, so read from the primary like the email lookups
     @Override
+    @Transactional(readOnly = true)
     public List<EmployeeEntity> findByDepartment(String department) {
-        return repository.findByDepartment(department);
+        return ReplicaRoutingDataSource.readFromPrimary(() -> repository.findByDepartment(department));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeeSummary findSummaryByEmail(String email) {
+        return repository.findSummaryByEmail(email);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeSummary> findSummariesByDepartment(String department) {
+        return repository.findSummariesByDepartment(department);
+    }
+
+    // Two grouped queries, so the transfer is O(departments * buckets) instead of O(rows)
+    @Override
+    @Transactional(readOnly = true)
+    public List<DepartmentSalaryStats> salaryStatsByDepartment(double bucketWidth)
+    {
+        if (!(bucketWidth > 0)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "bucketWidth must be positive");
+        }
+        Map<String, List<long[]>> histograms = new HashMap<>();
+        for (Object[] row : repository.findSalaryHistogramByDepartment(bucketWidth)) {
+            long bucket = ((Number) row[1]).longValue();
+            long count = ((Number) row[2]).longValue();
+            histograms.computeIfAbsent((String) row[0], d -> new ArrayList<>()).add(new long[] { bucket, count });
+        }
+
+        List<DepartmentSalaryStats> stats = new ArrayList<>();
+        for (Object[] row : repository.findSalaryAggregatesByDepartment()) {
+            String department = (String) row[0];
+            long count = (Long) row[1];
+            double min = ((Number) row[4]).doubleValue();
+            double max = ((Number) row[5]).doubleValue();
+            List<long[]> histogram = histograms.getOrDefault(department, List.of());
+            stats.add(new DepartmentSalaryStats(department, count,
+                    ((Number) row[2]).doubleValue(), ((Number) row[3]).doubleValue(), min, max,
+                    percentile(histogram, count, 0.50, bucketWidth, min, max),
+                    percentile(histogram, count, 0.90, bucketWidth, min, max),
+                    percentile(histogram, count, 0.99, bucketWidth, min, max)));
+        }
+        return stats;
+    }
+
+    // Upper edge of the bucket holding the requested rank, clamped to the real min/max
+    private static double percentile(List<long[]> histogram, long count, double fraction, double bucketWidth,
+                                     double min, double max)
+    {
+        long rank = (long) Math.ceil(fraction * count);
+        long seen = 0;
+        for (long[] bucket : histogram) {
+            seen += bucket[1];
+            if (seen >= rank) {
+                return Math.max(min, Math.min(max, (bucket[0] + 1) * bucketWidth));
+            }
+        }
+        return max;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public HeadcountReport headcount(LocalDate from, LocalDate to, Granularity granularity) {
+        return headcountAnalytics.headcount(from, to, granularity);
+    }
+
+    @Override
+    public List<EmployeeSummary> search(String query, int limit) {
+        if (!searchIndex.isLoaded()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Search index is still loading");
+        }
+        return searchIndex.search(query, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeePage findPage(String cursor, int size)
+    {
+        List<EmployeeEntity> content;
+        if (cursor == null || cursor.isEmpty()) {
+            content = repository.findFirstPage(Limit.of(size));
+        }
+        else {
+            // cursor = base64url("<id>:<department>") of the last row already returned, just "<id>" when
+            // its department is NULL, so a NULL department is never confused with the text "null"
+            long lastId;
+            String lastDepartment;
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.indexOf(':');
+                if (separator < 0) {
+                    lastId = Long.parseLong(decoded);
+                    lastDepartment = null;
+                }
+                else {
+                    lastId = Long.parseLong(decoded.substring(0, separator));
+                    lastDepartment = decoded.substring(separator + 1);
+                }
+            }
+            catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+            content = repository.findPageAfter(lastDepartment, lastId, Limit.of(size));
+        }
+
+        String nextCursor = null;
+        if (content.size() == size) {
+            EmployeeEntity last = content.get(content.size() - 1);
+            String key = last.getDepartment() == null ? Long.toString(last.getId()) : last.getId() + ":" + last.getDepartment();
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+        }
+        return new EmployeePage(content, nextCursor);
+    }
+
+    // Hands every employee of the department to the sink one at a time and detaches it
+    // right after, so heap use stays flat no matter how large the department is
+    @Override
+    @Transactional(readOnly = true)
+    public void exportByDepartment(String department, Consumer<EmployeeEntity> sink)
+    {
+        try (Stream<EmployeeEntity> employees = repository.streamByDepartment(department)) {
+            employees.forEach(employee -> {
+                sink.accept(employee);
+                entityManager.detach(employee);
+            });
+        }
     }
 }
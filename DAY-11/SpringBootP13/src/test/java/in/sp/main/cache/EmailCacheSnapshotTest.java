@@ -0,0 +1,103 @@
+package in.sp.main.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import in.sp.main.entity.EmployeeEntity;
+import in.sp.main.repository.Repository;
+
+class EmailCacheSnapshotTest {
+
+	@TempDir
+	Path dir;
+
+	private final Repository repository = mock(Repository.class);
+	private EmailLookupCache cache;
+	private EmailCacheSnapshot snapshot;
+
+	@BeforeEach
+	void setUp() {
+		// the database has moved on since the rows were cached: version 7 now
+		when(repository.findAllById(any())).thenAnswer(invocation -> {
+			List<EmployeeEntity> rows = new ArrayList<>();
+			for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+				EmployeeEntity employee = employee(id);
+				employee.setVersion(7);
+				rows.add(employee);
+			}
+			return rows;
+		});
+		cache = new EmailLookupCache(100, 60000);
+		snapshot = snapshot(cache);
+	}
+
+	@Test
+	void replaysCurrentRowsWithTheirRemainingLifetime() throws IOException {
+		cache.get("1@x.com", email -> employee(1));
+		cache.get("2@x.com", email -> employee(2));
+		snapshot.save();
+
+		EmailLookupCache restarted = new EmailLookupCache(100, 60000);
+		assertEquals(2, snapshot(restarted).load());
+
+		assertEquals(List.of(2L, 1L), restarted.hottest(10).stream().map(EmailLookupCache.HotEntry::employeeId).toList());
+		assertTrue(restarted.hottest(10).get(0).remainingMillis() <= 60000);
+		assertEquals(7, restarted.get("1@x.com", email -> null).getVersion());
+	}
+
+	@Test
+	void skipsExpiredEntries() throws IOException {
+		write(0x454D5032, 2, new long[] { 1, System.currentTimeMillis() + 60000, 2, System.currentTimeMillis() - 1 });
+
+		assertEquals(1, snapshot.load());
+		assertEquals(1, cache.stats().size());
+	}
+
+	@Test
+	void rejectsOldFormatsAndCountsThatDontMatchTheFile() throws IOException {
+		write(0x454D5031, 1, new long[] { 1, Long.MAX_VALUE });
+		assertThrows(IOException.class, snapshot::load);
+
+		write(0x454D5032, Integer.MAX_VALUE, new long[] { 1, Long.MAX_VALUE });
+		assertThrows(IOException.class, snapshot::load);
+	}
+
+	private EmailCacheSnapshot snapshot(EmailLookupCache target) {
+		EmailCacheSnapshot snapshot = new EmailCacheSnapshot();
+		ReflectionTestUtils.setField(snapshot, "emailCache", target);
+		ReflectionTestUtils.setField(snapshot, "repository", repository);
+		ReflectionTestUtils.setField(snapshot, "path", dir.resolve("cache.snapshot"));
+		ReflectionTestUtils.setField(snapshot, "maxEntries", 100);
+		return snapshot;
+	}
+
+	private void write(int magic, int count, long[] values) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(dir.resolve("cache.snapshot")))) {
+			out.writeInt(magic);
+			out.writeInt(count);
+			for (long value : values) {
+				out.writeLong(value);
+			}
+		}
+	}
+
+	private static EmployeeEntity employee(long id) {
+		return new EmployeeEntity(id, "Name", id + "@x.com", 100000, "Engineering", null, null);
+	}
+}
@@ -0,0 +1,103 @@
+package in.sp.main.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import in.sp.main.entity.EmployeeEntity;
+
+class EmailLookupCacheTest {
+
+	private final EmailLookupCache cache = new EmailLookupCache(2, 60000);
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void loadsOnceThenHits() {
+		EmployeeEntity first = cache.get("a@x.com", this::load);
+		EmployeeEntity second = cache.get("a@x.com", this::load);
+
+		assertSame(first, second);
+		assertEquals(1, loads.get());
+		assertEquals(1, cache.stats().hits());
+		assertEquals(1, cache.stats().misses());
+	}
+
+	@Test
+	void evictsLeastRecentlyUsed() {
+		cache.get("a@x.com", this::load);
+		cache.get("b@x.com", this::load);
+		cache.get("a@x.com", this::load);
+		cache.get("c@x.com", this::load);           // b is the eldest now
+
+		cache.get("b@x.com", this::load);
+		assertEquals(4, loads.get());
+		assertEquals(2, cache.stats().evictions());
+	}
+
+	@Test
+	void expiresAfterTtl() {
+		EmailLookupCache expiring = new EmailLookupCache(10, 0);
+		expiring.get("a@x.com", this::load);
+		expiring.get("a@x.com", this::load);
+
+		assertEquals(2, loads.get());
+		assertEquals(1, expiring.stats().expirations());
+	}
+
+	@Test
+	void loadOverlappingAnInvalidationIsNotCached() {
+		cache.get("a@x.com", email -> {
+			cache.invalidate(1, email);              // a writer commits while this load is running
+			return load(email);
+		});
+		cache.get("a@x.com", this::load);
+
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void invalidatingByIdEvictsThePreviousEmail() {
+		cache.get("old@x.com", email -> employee(7, email));
+
+		cache.invalidate(7, "new@x.com");
+
+		assertNull(cache.get("old@x.com", email -> null));
+		assertEquals(0, cache.stats().size());
+	}
+
+	@Test
+	void invalidationWaitsForCommit() {
+		cache.get("a@x.com", this::load);
+		TransactionSynchronizationManager.initSynchronization();
+
+		cache.invalidateAfterCommit(1, "a@x.com");
+		assertEquals(1, cache.stats().size());
+
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.afterCommit();
+		}
+		assertEquals(0, cache.stats().size());
+	}
+
+	private EmployeeEntity load(String email) {
+		return employee(loads.incrementAndGet(), email);
+	}
+
+	private static EmployeeEntity employee(long id, String email) {
+		return new EmployeeEntity(id, "Name", email, 100000, "Engineering", null, null);
+	}
+}
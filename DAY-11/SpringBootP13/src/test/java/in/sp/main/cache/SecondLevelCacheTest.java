@@ -0,0 +1,92 @@
+package in.sp.main.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import in.sp.main.entity.EmployeeEntity;
+import in.sp.main.repository.Repository;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+// Boots JPA with the application's JCache settings against the embedded H2 database. Not transactional:
+// READ_WRITE regions only take rows committed by an earlier transaction, as in production.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private Repository repository;
+
+	private SessionFactory sessionFactory;
+	private final List<Long> ids = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+		repository.deleteAllInBatch();
+		for (int i = 0; i < 10; i++) {
+			ids.add(repository.save(new EmployeeEntity(0, "e" + i, "e" + i + "@x.com", 1000,
+					"Sales", LocalDate.of(2020, 1, 1), null)).getId());
+		}
+		sessionFactory.getCache().evictAllRegions();
+	}
+
+	@Test
+	void employeeRegionIsActive() {
+		assertTrue(sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled());
+		assertNotNull(sessionFactory.unwrap(SessionFactoryImplementor.class).getCache().getRegion("employee"));
+
+		find(ids.get(0), true);
+
+		assertTrue(sessionFactory.getCache().containsEntity(EmployeeEntity.class, ids.get(0)));
+	}
+
+	// 100 lookups by id over 10 employees, each in its own persistence context as separate requests would be
+	@Test
+	void repeatedLookupsByIdSkipTheDatabase() {
+		assertEquals(100, statementsFor(false));
+		assertEquals(10, statementsFor(true));       // one miss per employee, then hits
+	}
+
+	private long statementsFor(boolean cached) {
+		Statistics statistics = sessionFactory.getStatistics();
+		long before = statistics.getPrepareStatementCount();
+		for (int i = 0; i < 100; i++) {
+			find(ids.get(i % ids.size()), cached);
+		}
+		return statistics.getPrepareStatementCount() - before;
+	}
+
+	private void find(long id, boolean cached) {
+		Map<String, Object> hints = cached ? Map.of() : Map.of("jakarta.persistence.cache.retrieveMode",
+				CacheRetrieveMode.BYPASS, "jakarta.persistence.cache.storeMode", CacheStoreMode.BYPASS);
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+		try {
+			assertNotNull(entityManager.find(EmployeeEntity.class, id, hints));
+		}
+		finally {
+			entityManager.close();
+		}
+	}
+}
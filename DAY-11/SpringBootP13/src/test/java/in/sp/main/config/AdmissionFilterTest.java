@@ -0,0 +1,125 @@
+package in.sp.main.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AdmissionFilterTest {
+
+	private final AtomicLong now = new AtomicLong();
+	private final TokenBucket read = new TokenBucket(10, 1, now::get);
+	private final TokenBucket heavy = new TokenBucket(1, 1, now::get);
+	private final TokenBucket write = new TokenBucket(10, 1, now::get);
+	private final AdmissionFilter filter = new AdmissionFilter(read, heavy, write, 100, 0, new SimpleMeterRegistry());
+
+	@Test
+	void heavyReadsRunOutOfTheirOwnBucketOnly() throws Exception {
+		assertEquals(200, send("GET", "/employees/department/Sales/stream").getStatus());
+
+		MockHttpServletResponse refused = send("GET", "/employees/analytics/headcount");
+		assertEquals(429, refused.getStatus());
+		assertEquals("1", refused.getHeader("Retry-After"));
+
+		assertEquals(200, send("GET", "/employees/email/jane@acme.com").getStatus());
+		assertEquals(9.0, read.available());
+	}
+
+	@Test
+	void bulkIsChargedByEstimatedRows() throws Exception {
+		MockHttpServletRequest request = request("POST", "/employees/bulk");
+		request.setContent(new byte[450]);
+		assertEquals(200, send(request).getStatus());
+		assertEquals(6.0, write.available());          // 450 bytes at 100 per row
+
+		request = request("POST", "/employees/bulk");
+		request.setContent(new byte[700]);
+		MockHttpServletResponse refused = send(request);
+		assertEquals(429, refused.getStatus());
+		assertEquals("1", refused.getHeader("Retry-After"));
+		assertEquals(6.0, write.available());          // a refused request takes nothing
+	}
+
+	@Test
+	void refusedRequestsNeverReachTheChain() throws Exception {
+		for (int i = 0; i < 10; i++) {
+			send("PUT", "/employees/email/jane@acme.com");
+		}
+		MockFilterChain chain = new MockFilterChain();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request("PUT", "/employees/email/jane@acme.com"), response, chain);
+
+		assertEquals(429, response.getStatus());
+		assertNull(chain.getRequest());
+	}
+
+	@Test
+	void readsWaitBrieflyForAToken() throws Exception {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		AdmissionFilter waiting = new AdmissionFilter(new TokenBucket(1, 1000, System::nanoTime), heavy, write, 100, 50, registry);
+
+		assertEquals(200, send(waiting, "GET", "/employees/email/jane@acme.com").getStatus());
+		assertEquals(200, send(waiting, "GET", "/employees/email/jane@acme.com").getStatus());   // about 1ms for the next token
+		assertEquals(1.0, registry.get("employee.admission.requests").tag("bucket", "read").tag("outcome", "delayed").counter().count());
+	}
+
+	@Test
+	void writesAndHeavyReadsAreShedWhileAReadWaits() throws Exception {
+		TokenBucket roomy = new TokenBucket(Long.MAX_VALUE / 2, 1, now::get);   // a 429 can only come from the waiting read
+		AdmissionFilter waiting = new AdmissionFilter(new TokenBucket(1, 5, System::nanoTime), heavy, roomy, 100, 1000, new SimpleMeterRegistry());
+		send(waiting, "GET", "/employees/email/jane@acme.com");
+
+		// the next token is 200ms away, so this read parks for it
+		CompletableFuture<Integer> parked = CompletableFuture.supplyAsync(() -> status(waiting, "GET", "/employees/email/jane@acme.com"));
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+		int writeStatus = 200;
+		while (writeStatus == 200 && !parked.isDone() && System.nanoTime() < deadline) {
+			writeStatus = status(waiting, "PUT", "/employees/email/jane@acme.com");
+		}
+		assertEquals(429, writeStatus);
+		assertEquals(429, send(waiting, "GET", "/employees/stats").getStatus());
+
+		assertEquals(200, parked.get(2, TimeUnit.SECONDS));
+		assertEquals(200, send(waiting, "PUT", "/employees/email/jane@acme.com").getStatus());
+	}
+
+	private MockHttpServletResponse send(String method, String path) throws Exception {
+		return send(filter, request(method, path));
+	}
+
+	private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+		return send(filter, request);
+	}
+
+	private static MockHttpServletResponse send(AdmissionFilter filter, String method, String path) throws Exception {
+		return send(filter, request(method, path));
+	}
+
+	private static MockHttpServletResponse send(AdmissionFilter filter, MockHttpServletRequest request) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response;
+	}
+
+	private static int status(AdmissionFilter filter, String method, String path) {
+		try {
+			return send(filter, method, path).getStatus();
+		}
+		catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static MockHttpServletRequest request(String method, String path) {
+		return new MockHttpServletRequest(method, path);
+	}
+}
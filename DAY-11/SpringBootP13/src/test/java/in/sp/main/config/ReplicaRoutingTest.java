@@ -0,0 +1,130 @@
+package in.sp.main.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+// Two in-memory H2 databases stand in for the MySQL primary and replica
+class ReplicaRoutingTest {
+
+	private DataSource primary;
+	private DataSource replica;
+	private ReplicaPool pool;
+	private JdbcTemplate jdbc;
+	private TransactionTemplate readWrite;
+	private TransactionTemplate readOnly;
+
+	@BeforeEach
+	void setUp() {
+		primary = database("primary");
+		replica = database("replica");
+		pool = new ReplicaPool(List.of(replica), false, 5);
+		pool.checkHealth();
+
+		DataSource routing = ReplicaRoutingConfig.routingDataSource(primary, pool);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+		jdbc = new JdbcTemplate(routing);
+		readWrite = new TransactionTemplate(transactionManager);
+		readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		pool.close();
+		new JdbcTemplate(primary).execute("DROP ALL OBJECTS");
+		new JdbcTemplate(replica).execute("DROP ALL OBJECTS");
+	}
+
+	@Test
+	void readOnlyTransactionsGoToTheReplica() {
+		assertEquals("replica", readOnly.execute(status -> node()));
+		assertEquals("primary", readWrite.execute(status -> node()));
+	}
+
+	@Test
+	void fallsBackToPrimaryWhenNoReplicaIsHealthy() {
+		pool.markDown(replica);
+		assertEquals("primary", readOnly.execute(status -> node()));
+
+		pool.checkHealth();
+		assertEquals("replica", readOnly.execute(status -> node()));
+	}
+
+	@Test
+	void startChecksInTheBackground() throws Exception {
+		try (ReplicaPool started = new ReplicaPool(List.of(replica), false, 5)) {
+			started.start(60_000);
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+			while (started.next() == null && System.nanoTime() < deadline) {
+				Thread.sleep(10);
+			}
+			assertEquals(replica, started.next());
+		}
+	}
+
+	@Test
+	void readFromPrimaryBypassesHealthyReplicas() {
+		assertEquals("primary", readOnly.execute(status -> ReplicaRoutingDataSource.readFromPrimary(this::node)));
+		assertEquals("replica", readOnly.execute(status -> node()));
+	}
+
+	// Same routing through JpaTransactionManager, which marks the connection read-only via HibernateJpaDialect
+	@Test
+	void jpaReadOnlyTransactionsGoToTheReplica() {
+		LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+		factory.setDataSource(ReplicaRoutingConfig.routingDataSource(primary, pool));
+		factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+		factory.setPackagesToScan("in.sp.main.config");     // no entities needed, only native queries
+		factory.setJpaPropertyMap(Map.of("hibernate.dialect", "org.hibernate.dialect.H2Dialect"));
+		factory.afterPropertiesSet();
+		EntityManagerFactory entityManagerFactory = factory.getObject();
+		try {
+			JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+			EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+			TransactionTemplate jpaReadOnly = new TransactionTemplate(transactionManager);
+			jpaReadOnly.setReadOnly(true);
+
+			assertEquals("replica", jpaReadOnly.execute(status -> jpaNode(entityManager)));
+			assertEquals("primary", new TransactionTemplate(transactionManager).execute(status -> jpaNode(entityManager)));
+		}
+		finally {
+			factory.destroy();
+		}
+	}
+
+	private static String jpaNode(EntityManager entityManager) {
+		return (String) entityManager.createNativeQuery("SELECT name FROM node").getSingleResult();
+	}
+
+	private String node() {
+		return jdbc.queryForObject("SELECT name FROM node", String.class);
+	}
+
+	private static DataSource database(String name) {
+		DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+		jdbc.update("INSERT INTO node VALUES (?)", name);
+		return dataSource;
+	}
+}
@@ -0,0 +1,57 @@
+package in.sp.main.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+	private final AtomicLong now = new AtomicLong();
+
+	@Test
+	void startsFullAndRefusesOnceEmpty() {
+		TokenBucket bucket = new TokenBucket(3, 10, now::get);
+
+		assertEquals(0, bucket.tryAcquire());
+		assertEquals(0, bucket.tryAcquire());
+		assertEquals(0, bucket.tryAcquire());
+		assertEquals(100_000_000, bucket.tryAcquire());      // 10 per second, one token every 100ms
+	}
+
+	@Test
+	void refillsOverTimeUpToCapacity() {
+		TokenBucket bucket = new TokenBucket(2, 10, now::get);
+		bucket.tryAcquire();
+		bucket.tryAcquire();
+
+		now.addAndGet(50_000_000);
+		assertEquals(50_000_000, bucket.tryAcquire());
+		now.addAndGet(50_000_000);
+		assertEquals(0, bucket.tryAcquire());
+
+		now.addAndGet(10_000_000_000L);
+		assertEquals(2.0, bucket.available());
+	}
+
+	@Test
+	void chargesByCostAndCapsItAtCapacity() {
+		TokenBucket bucket = new TokenBucket(10, 10, now::get);
+
+		assertEquals(0, bucket.tryAcquire(4));
+		assertEquals(200_000_000, bucket.tryAcquire(8));     // 6 left, 2 more take 200ms
+		assertEquals(6.0, bucket.available());
+
+		now.addAndGet(1_000_000_000);
+		assertEquals(0, bucket.tryAcquire(1000));            // more than the bucket holds costs all of it
+		assertEquals(0.0, bucket.available());
+	}
+
+	@Test
+	void rejectsNonPositiveSettings() {
+		assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 10, now::get));
+		assertThrows(IllegalArgumentException.class, () -> new TokenBucket(5, 0, now::get));
+	}
+}
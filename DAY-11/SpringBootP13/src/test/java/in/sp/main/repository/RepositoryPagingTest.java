@@ -0,0 +1,47 @@
+package in.sp.main.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import in.sp.main.entity.EmployeeEntity;
+
+// Runs against the embedded H2 database, which like MySQL sorts NULL departments first
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class RepositoryPagingTest {
+
+	@Autowired
+	private Repository repository;
+
+	@Test
+	void pagesThroughEmployeesWithoutADepartment() {
+		List<String> departments = new ArrayList<>();
+		for (String department : new String[] { null, "Sales", null, "Engineering", null, "Sales", null }) {
+			departments.add(department);
+			repository.save(new EmployeeEntity(0, "e" + departments.size(), "e" + departments.size() + "@x.com", 1000,
+					department, LocalDate.of(2020, 1, 1), null));
+		}
+
+		List<EmployeeEntity> seen = new ArrayList<>();
+		List<EmployeeEntity> page = repository.findFirstPage(Limit.of(3));
+		while (!page.isEmpty()) {
+			seen.addAll(page);
+			EmployeeEntity last = page.get(page.size() - 1);
+			page = repository.findPageAfter(last.getDepartment(), last.getId(), Limit.of(3));
+		}
+
+		// every row exactly once, the NULL group first
+		assertEquals(departments.size(), seen.stream().map(EmployeeEntity::getId).distinct().count());
+		assertEquals(departments.size(), seen.size());
+		assertEquals(Arrays.asList(null, null, null, null, "Engineering", "Sales", "Sales"),
+				seen.stream().map(EmployeeEntity::getDepartment).toList());
+	}
+}
@@ -0,0 +1,74 @@
+package in.sp.main.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+class BonusCalculatorTest {
+
+	private final BonusCalculator calculator =
+			new BonusCalculator("300000,600000", "0.10,0.08,0.06", 0.01, 0.03, "Engineering:2.0");
+
+	@Test
+	void appliesSalaryBandTenureAndDepartment() {
+		assertEquals(100000 * 0.10, calculator.bonus(100000, 0, "Sales"), 1e-6);
+		// 300k at 10% + 100k at 8%, plus 2 years of tenure on the whole salary
+		assertEquals(30000 + 8000 + 400000 * 0.02, calculator.bonus(400000, 24, "Sales"), 1e-6);
+		assertEquals((30000 + 24000 + 6000 + 700000 * 0.03) * 2.0, calculator.bonus(700000, 120, "Engineering"), 1e-6);
+	}
+
+	@Test
+	void crossingABandLimitNeverLowersTheBonus() {
+		double below = calculator.bonus(299999, 0, "Sales");
+		double at = calculator.bonus(300000, 0, "Sales");
+		double above = calculator.bonus(300001, 0, "Sales");
+
+		assertEquals(29999.9, below, 1e-6);
+		assertEquals(30000, at, 1e-6);
+		assertEquals(30000.08, above, 1e-6);
+		assertTrue(below < at && at < above);
+	}
+
+	@Test
+	void rejectsMalformedSettingsAtStartup() {
+		IllegalArgumentException missingRate = assertThrows(IllegalArgumentException.class,
+				() -> new BonusCalculator("300000,600000", "0.10,0.08", 0.01, 0.03, ""));
+		assertTrue(missingRate.getMessage().contains("employee.bonus.band-rates"));
+
+		IllegalArgumentException malformedMultiplier = assertThrows(IllegalArgumentException.class,
+				() -> new BonusCalculator("300000", "0.10,0.08", 0.01, 0.03, "Engineering"));
+		assertTrue(malformedMultiplier.getMessage().contains("employee.bonus.department-multipliers"));
+
+		assertThrows(IllegalArgumentException.class,
+				() -> new BonusCalculator("300000", "0.10,0.08", 0.01, 0.03, "Engineering:fast"));
+		assertThrows(IllegalArgumentException.class,
+				() -> new BonusCalculator("600000,300000", "0.10,0.08,0.06", 0.01, 0.03, ""));
+	}
+
+	@Test
+	void resignedEmployeesGetNoBonus() {
+		LocalDate today = LocalDate.of(2025, 6, 1);
+		int tenure = BonusCalculator.tenureMonths(LocalDate.of(2020, 1, 1), LocalDate.of(2025, 1, 1), today);
+		assertEquals(BonusCalculator.NOT_ELIGIBLE, tenure);
+		assertEquals(0.0, calculator.bonus(500000, tenure, "Sales"));
+	}
+
+	@Test
+	void batchMatchesSingleEvaluation() {
+		double[] salaries = { 100000, 300000, 650000, 1000000 };
+		int[] tenure = { 5, 13, BonusCalculator.NOT_ELIGIBLE, 60 };
+		double[] expected = new double[salaries.length];
+		for (int i = 0; i < salaries.length; i++) {
+			expected[i] = calculator.bonus(salaries[i], tenure[i], "Sales");
+		}
+
+		double[] out = new double[salaries.length];
+		calculator.evaluate(salaries, tenure, 1.0, out, salaries.length);
+		assertArrayEquals(expected, out, 1e-6);
+	}
+}
@@ -0,0 +1,67 @@
+package in.sp.main.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import in.sp.main.cache.EmailLookupCache;
+import in.sp.main.dto.BulkInsertResult;
+import in.sp.main.entity.EmployeeEntity;
+import in.sp.main.repository.Repository;
+
+// Chunks commit on their own, so the test runs outside a test transaction
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"employee.bulk.chunk-size=2" })
+@Import(Imp_EmployeeService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkInsertTest {
+
+	@Autowired
+	private EmployeeService service;
+
+	@Autowired
+	private Repository repository;
+
+	@MockBean
+	private EmailLookupCache emailCache;
+
+	@MockBean
+	private EmployeeSearchIndex searchIndex;
+
+	@MockBean
+	private BonusCalculator bonusCalculator;
+
+	@MockBean
+	private HeadcountAnalytics headcountAnalytics;
+
+	@Test
+	void refusedChunkIsReportedAndEarlierChunksStay() {
+		repository.deleteAllInBatch();
+		List<EmployeeEntity> rows = List.of(employee("a"), employee("b"), employee("c"), employee("a"), employee("d"));
+
+		BulkInsertResult result = service.addEmployees(rows.iterator());
+
+		assertEquals(2, result.inserted());
+		assertEquals(1, result.chunks().size());
+		assertTrue(result.error().startsWith("rows 3-4 were rolled back: "), result.error());
+		assertEquals(2, repository.count());
+	}
+
+	private static EmployeeEntity employee(String name) {
+		return new EmployeeEntity(0, name, name + "@x.com", 1000, "Sales", LocalDate.of(2020, 1, 1), null);
+	}
+}
@@ -0,0 +1,75 @@
+package in.sp.main.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import in.sp.main.dto.EmployeeSummary;
+
+class EmployeeSearchIndexTest {
+
+	private final EmployeeSearchIndex index = new EmployeeSearchIndex();
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void matchesEveryTokenByPrefix() {
+		index.index(1, "John Smith", "john.smith@acme.com", "Engineering");
+		index.index(2, "Johanna Doe", "jdoe@acme.com", "Sales");
+		index.index(3, "Mary Smithers", "mary@acme.com", "Engineering");
+
+		assertEquals(List.of(1L, 2L), ids(index.search("jo", 10)));
+		assertEquals(List.of(1L), ids(index.search("jo sm", 10)));
+		assertEquals(List.of(1L, 3L), ids(index.search("smith eng", 10)));
+		assertEquals(1, index.search("acme", 1).size());
+	}
+
+	@Test
+	void reindexingReplacesOldTerms() {
+		index.index(1, "John Smith", "john@acme.com", "Engineering");
+		index.index(1, "John Smith", "john@acme.com", "Finance");
+
+		assertTrue(index.search("engineering", 10).isEmpty());
+		assertEquals(List.of(1L), ids(index.search("fin", 10)));
+	}
+
+	@Test
+	void termsNobodyHasAnyMoreAreDropped() {
+		index.index(1, "John Smith", "john@acme.com", "Engineering");
+		index.index(2, "Mary Jones", "mary@acme.com", "Engineering");
+		index.index(1, "John Smith", "john@acme.com", "Finance");
+		assertEquals(8, index.termCount());         // engineering stays, Mary still has it
+
+		index.index(2, "Mary Jones", "mary@acme.com", "Finance");
+		assertEquals(7, index.termCount());         // john smith mary jones acme com finance
+		assertTrue(index.search("eng", 10).isEmpty());
+	}
+
+	@Test
+	void indexesOnlyOnceTheWriteCommits() {
+		TransactionSynchronizationManager.initSynchronization();
+
+		index.indexAfterCommit(1, "John Smith", "john@acme.com", "Engineering");
+		assertTrue(index.search("john", 10).isEmpty());
+
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.afterCommit();
+		}
+		assertEquals(List.of(1L), ids(index.search("john", 10)));
+	}
+
+	private static List<Long> ids(List<EmployeeSummary> results) {
+		return results.stream().map(EmployeeSummary::id).sorted().toList();
+	}
+}
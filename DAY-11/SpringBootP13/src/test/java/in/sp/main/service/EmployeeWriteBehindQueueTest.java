@@ -0,0 +1,91 @@
+package in.sp.main.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import in.sp.main.dto.WriteTicketStatus;
+import in.sp.main.dto.WriteTicketStatus.State;
+import in.sp.main.entity.EmployeeEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EmployeeWriteBehindQueueTest {
+
+	private final EmployeeService employeeService = mock(EmployeeService.class);
+	private final List<String> savedEmails = new ArrayList<>();
+
+	@Test
+	void aBadRowFailsOnlyItsOwnTicket() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		// the database rejects the whole batch if any row has no email, like a NOT NULL violation
+		doAnswer(invocation -> {
+			release.await(5, TimeUnit.SECONDS);
+			List<EmployeeEntity> rows = new ArrayList<>();
+			((Iterator<EmployeeEntity>) invocation.getArgument(0)).forEachRemaining(rows::add);
+			if (rows.stream().anyMatch(row -> row.getEmail() == null)) {
+				throw new IllegalStateException("email must not be null");
+			}
+			rows.forEach(row -> savedEmails.add(row.getEmail()));
+			return null;
+		}).when(employeeService).addEmployees(any());
+
+		EmployeeWriteBehindQueue queue = start(10);
+		WriteTicketStatus first = queue.submit(employee("a@x.com"));
+		WriteTicketStatus bad = queue.submit(employee(null));
+		WriteTicketStatus last = queue.submit(employee("c@x.com"));
+		release.countDown();
+		queue.stop();
+
+		assertEquals(State.SAVED, queue.status(first.ticket()).state());
+		assertEquals(State.FAILED, queue.status(bad.ticket()).state());
+		assertEquals("email must not be null", queue.status(bad.ticket()).error());
+		assertEquals(State.SAVED, queue.status(last.ticket()).state());
+		assertEquals(List.of("a@x.com", "c@x.com"), savedEmails);
+	}
+
+	@Test
+	void stopDrainsWhatIsAlreadyQueued() throws Exception {
+		doAnswer(invocation -> {
+			Thread.sleep(20);
+			((Iterator<EmployeeEntity>) invocation.getArgument(0)).forEachRemaining(row -> savedEmails.add(row.getEmail()));
+			return null;
+		}).when(employeeService).addEmployees(any());
+
+		EmployeeWriteBehindQueue queue = start(2);
+		List<WriteTicketStatus> tickets = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			tickets.add(queue.submit(employee(i + "@x.com")));
+		}
+		queue.stop();
+
+		assertNull(queue.submit(employee("late@x.com")));
+		assertEquals(10, savedEmails.size());
+		for (WriteTicketStatus ticket : tickets) {
+			assertEquals(State.SAVED, queue.status(ticket.ticket()).state());
+		}
+	}
+
+	private EmployeeWriteBehindQueue start(int batchSize) {
+		EmployeeWriteBehindQueue queue = new EmployeeWriteBehindQueue(true, 100, batchSize, 100, 10000, 1000);
+		ReflectionTestUtils.setField(queue, "employeeService", employeeService);
+		ReflectionTestUtils.setField(queue, "meterRegistry", new SimpleMeterRegistry());
+		queue.start();
+		return queue;
+	}
+
+	private static EmployeeEntity employee(String email) {
+		return new EmployeeEntity(0, "name", email, 1000, "Sales", LocalDate.of(2020, 1, 1), null);
+	}
+}
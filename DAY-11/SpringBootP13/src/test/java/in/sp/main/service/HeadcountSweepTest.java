@@ -0,0 +1,29 @@
+package in.sp.main.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import in.sp.main.dto.DepartmentHeadcount;
+
+class HeadcountSweepTest {
+
+	@Test
+	void countsHeadcountJoinersAndLeaversPerPeriod() {
+		// periods [0,10) [10,20) [20,30)
+		int[] boundaries = { 0, 10, 20, 30 };
+		int[] joins = { 15, -5, 0, 9 };        // unsorted on purpose
+		int[] resigns = { 12, 25 };            // the employees who joined at -5 and 0 leave on day 12 and 25
+
+		DepartmentHeadcount result = HeadcountSweep.sweep("Sales", joins, joins.length, resigns, resigns.length,
+				boundaries, new int[5]);
+
+		assertArrayEquals(new int[] { 3, 3, 2 }, result.headcount());
+		assertArrayEquals(new int[] { 2, 1, 0 }, result.joiners());
+		assertArrayEquals(new int[] { 0, 1, 1 }, result.leavers());
+		assertEquals(0.0, result.attritionRate()[0]);
+		assertEquals(1 / 3.0, result.attritionRate()[1], 1e-9);
+		assertEquals(1 / 2.5, result.attritionRate()[2], 1e-9);
+	}
+}
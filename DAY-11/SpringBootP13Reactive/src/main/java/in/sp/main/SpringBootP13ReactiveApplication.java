@@ -0,0 +1,14 @@
+package in.sp.main;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class SpringBootP13ReactiveApplication {
+
+	public static void main(String[] args) 
+	{
+		SpringApplication.run(SpringBootP13ReactiveApplication.class, args);
+	}
+
+}
@@ -0,0 +1,53 @@
+package in.sp.main.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import in.sp.main.entity.EmployeeEntity;
+import in.sp.main.service.EmployeeService;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Read endpoints of SpringBootP13 served non-blocking, for comparing thread usage and tail latency
+@RestController
+@RequestMapping("/employees")
+public class Controller 
+{
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<EmployeeEntity>> getEmployee(@PathVariable long id)
+    {
+        return employeeService.findById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/email/{email}")
+    public Mono<ResponseEntity<EmployeeEntity>> getEmployeeByEmail(@PathVariable String email) 
+    {
+        return employeeService.findByEmail(email)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/department/{dept}")
+    public Flux<EmployeeEntity> getEmployeesByDepartment(@PathVariable String dept)
+    {
+        return employeeService.findByDepartment(dept);
+    }
+
+    // NDJSON: each row is written as soon as the driver emits it
+    @GetMapping(value = "/department/{dept}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<EmployeeEntity> streamEmployeesByDepartment(@PathVariable String dept)
+    {
+        return employeeService.findByDepartment(dept);
+    }
+}
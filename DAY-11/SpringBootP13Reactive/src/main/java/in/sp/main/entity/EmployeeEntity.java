@@ -0,0 +1,87 @@
+package in.sp.main.entity;
+
+import java.time.LocalDate;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+// Same employee_table as SpringBootP13, mapped for Spring Data R2DBC (camelCase fields map to snake_case columns)
+@Table("employee_table")
+public class EmployeeEntity 
+{
+	@Id
+	private long id;   
+	private String name;
+	private String email; 
+	private double salary;
+	private String department;
+	private LocalDate joiningDate;
+    private LocalDate resignationDate;
+	
+	public EmployeeEntity() 
+	{
+		
+	}
+	
+	public EmployeeEntity(long id, String name, String email, double salary, String department, LocalDate joiningDate,
+			LocalDate resignationDate) {
+		super();
+		this.id = id;
+		this.name = name;
+		this.email = email;
+		this.salary = salary;
+		this.department = department;
+		this.joiningDate = joiningDate;
+		this.resignationDate = resignationDate;
+	}
+
+	public long getId() {
+		return id;
+	}
+	public void setId(long id) {
+		this.id = id;
+	}
+	public String getName() {
+		return name;
+	}
+	public void setName(String name) {
+		this.name = name;
+	}
+	public String getEmail() {
+		return email;
+	}
+	public void setEmail(String email) {
+		this.email = email;
+	}
+	public double getSalary() {
+		return salary;
+	}
+	public void setSalary(double salary) {
+		this.salary = salary;
+	}
+	public String getDepartment() {
+		return department;
+	}
+	public void setDepartment(String department) {
+		this.department = department;
+	}
+	public LocalDate getJoiningDate() {
+		return joiningDate;
+	}
+	public void setJoiningDate(LocalDate joiningDate) {
+		this.joiningDate = joiningDate;
+	}
+	public LocalDate getResignationDate() {
+		return resignationDate;
+	}
+	public void setResignationDate(LocalDate resignationDate) {
+		this.resignationDate = resignationDate;
+	}
+
+	@Override
+	public String toString() {
+		return "EmployeeEntity [id=" + id + ", name=" + name + ", email=" + email + ", salary=" + salary
+				+ ", department=" + department + ", joiningDate=" + joiningDate + ", resignationDate=" + resignationDate
+				+ "]";
+	}
+}
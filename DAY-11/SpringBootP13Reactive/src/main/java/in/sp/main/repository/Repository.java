@@ -0,0 +1,19 @@
+package in.sp.main.repository;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import in.sp.main.entity.EmployeeEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface Repository extends ReactiveCrudRepository<EmployeeEntity, Long> {
+
+    // SQL query to find employee by email
+    @Query("SELECT * FROM employee_table WHERE email = :email")
+    Mono<EmployeeEntity> findByEmail(@Param("email") String email);
+
+    // SQL query to find employees by department, rows are emitted as they arrive
+    @Query("SELECT * FROM employee_table WHERE department = :dept")
+    Flux<EmployeeEntity> findByDepartment(@Param("dept") String dept);
+}
@@ -0,0 +1,11 @@
+package in.sp.main.service;
+
+import in.sp.main.entity.EmployeeEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface EmployeeService {
+    Mono<EmployeeEntity> findById(long id);
+    Mono<EmployeeEntity> findByEmail(String email);
+    Flux<EmployeeEntity> findByDepartment(String department);
+}
@@ -0,0 +1,30 @@
+package in.sp.main.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import in.sp.main.entity.EmployeeEntity;
+import in.sp.main.repository.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+public class Imp_EmployeeService implements EmployeeService {
+
+    @Autowired
+    private Repository repository;
+
+    @Override
+    public Mono<EmployeeEntity> findById(long id) {
+        return repository.findById(id);
+    }
+
+    @Override
+    public Mono<EmployeeEntity> findByEmail(String email) {
+        return repository.findByEmail(email);
+    }
+
+    @Override
+    public Flux<EmployeeEntity> findByDepartment(String department) {
+        return repository.findByDepartment(department);
+    }
+}
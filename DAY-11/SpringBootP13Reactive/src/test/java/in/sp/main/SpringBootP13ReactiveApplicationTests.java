@@ -0,0 +1,63 @@
+package in.sp.main;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import in.sp.main.entity.EmployeeEntity;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class SpringBootP13ReactiveApplicationTests {
+
+	@Autowired
+	private WebTestClient client;
+
+	@Test
+	void findsEmployeeByEmail() {
+		client.get().uri("/employees/email/{email}", "mary@acme.com")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.name").isEqualTo("Mary Jones")
+				.jsonPath("$.joiningDate").isEqualTo("2018-06-01");
+	}
+
+	@Test
+	void unknownEmailIsNotFound() {
+		client.get().uri("/employees/email/{email}", "nobody@acme.com")
+				.exchange()
+				.expectStatus().isNotFound();
+	}
+
+	@Test
+	void listsDepartment() {
+		client.get().uri("/employees/department/{dept}", "Engineering")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.length()").isEqualTo(2);
+	}
+
+	@Test
+	void streamsDepartment() {
+		Flux<EmployeeEntity> body = client.get().uri("/employees/department/{dept}/stream", "Engineering")
+				.accept(MediaType.APPLICATION_NDJSON)
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+				.returnResult(EmployeeEntity.class)
+				.getResponseBody();
+
+		StepVerifier.create(body.map(EmployeeEntity::getName).collectSortedList())
+				.expectNext(List.of("John Smith", "Mary Jones"))
+				.verifyComplete();
+	}
+}
@@ -0,0 +1,4 @@
+DELETE FROM employee_table;
+INSERT INTO employee_table VALUES (1, 'John Smith', 'john@acme.com', 500000, 'Engineering', '2020-01-15', NULL);
+INSERT INTO employee_table VALUES (2, 'Mary Jones', 'mary@acme.com', 650000, 'Engineering', '2018-06-01', NULL);
+INSERT INTO employee_table VALUES (3, 'Ravi Kumar', 'ravi@acme.com', 400000, 'Sales', '2021-03-10', '2024-02-29');
@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS employee_table (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(255),
+    email VARCHAR(255) UNIQUE,
+    salary DOUBLE NOT NULL,
+    department VARCHAR(255),
+    joining_date DATE,
+    resignation_date DATE
+);